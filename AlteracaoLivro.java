@@ -0,0 +1,75 @@
+package com.biblioteca.biblioteca_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "alteracao_livro")
+// Registro de cada criação, atualização ou exclusão de livro, copiado do outbox (EventoOutbox) depois do commit.
+// Exclusões ficam registradas como lápides (tombstones), para que as cópias do catálogo também as apliquem.
+public class AlteracaoLivro {
+
+    public enum Tipo { CRIADO, ATUALIZADO, EXCLUIDO }
+
+    // Sequência crescente de alterações; serve de token para a sincronização incremental.
+    // Só o DespachanteOutbox grava registros, um lote confirmado de cada vez, então a ordem dos números é a
+    // ordem em que ficam visíveis. A alocação em blocos só cria saltos entre reinícios, nunca inversões.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alteracao_livro_seq")
+    @SequenceGenerator(name = "alteracao_livro_seq", sequenceName = "alteracao_livro_seq", allocationSize = 50)
+    private Long sequencia;
+
+    // Evento do outbox que originou o registro; evita registrar de novo um lote reenviado
+    @Column(nullable = false, unique = true)
+    private Long eventoOutboxId;
+
+    @Column(nullable = false)
+    private Long livroId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Tipo tipo;
+
+    @Column(nullable = false)
+    private Instant momento;
+
+    // Construtores (para uso do JPA e facilidade na criação)
+    public AlteracaoLivro() {
+    }
+
+    public AlteracaoLivro(Long eventoOutboxId, Long livroId, Tipo tipo, Instant momento) {
+        this.eventoOutboxId = eventoOutboxId;
+        this.livroId = livroId;
+        this.tipo = tipo;
+        this.momento = momento;
+    }
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public Long getEventoOutboxId() {
+        return eventoOutboxId;
+    }
+
+    public Long getLivroId() {
+        return livroId;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Instant getMomento() {
+        return momento;
+    }
+}
@@ -0,0 +1,42 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.model.AlteracaoLivro;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository do registro de alterações de livros usado pela sincronização incremental.
+ */
+@Repository
+public interface AlteracaoLivroRepository extends JpaRepository<AlteracaoLivro, Long> {
+
+    // Próximas alterações depois do token, por faixa na chave primária
+    List<AlteracaoLivro> findBySequenciaGreaterThanOrderBySequenciaAsc(Long sequencia, Limit limit);
+
+    // Quais destes eventos do outbox já estão no registro (lote reenviado depois de uma falha)
+    @Query("select a.eventoOutboxId from AlteracaoLivro a where a.eventoOutboxId in :ids")
+    List<Long> eventosRegistrados(@Param("ids") Collection<Long> ids);
+
+    // Nulos quando o registro está vazio
+    @Query("select min(a.sequencia) from AlteracaoLivro a")
+    Long primeiraSequencia();
+
+    @Query("select max(a.sequencia) from AlteracaoLivro a")
+    Long ultimaSequencia();
+
+    // Remove o que passou do prazo de retenção, menos a alteração mais recente: ela continua marcando
+    // até onde o registro já foi, para que tokens antigos sejam reconhecidos como expirados
+    @Transactional
+    @Modifying
+    @Query("delete from AlteracaoLivro a where a.momento < :limite and a.sequencia < :ultima")
+    int excluirAnteriores(@Param("limite") Instant limite, @Param("ultima") Long ultima);
+}
@@ -0,0 +1,11 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import com.biblioteca.biblioteca_api.model.AlteracaoLivro;
+import com.biblioteca.biblioteca_api.model.Livro;
+
+/**
+ * Uma alteração da sincronização incremental. Em criações e atualizações, livro traz o estado atual
+ * (não o da época da alteração); em exclusões (lápides) livro é nulo e basta o livroId.
+ */
+public record AlteracaoSincronizada(long sequencia, AlteracaoLivro.Tipo tipo, Long livroId, Livro livro) {
+}
@@ -2,8 +2,10 @@ package com.biblioteca.biblioteca_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BibliotecaApiApplication {
 
 	public static void main(String[] args) {
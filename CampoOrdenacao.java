@@ -0,0 +1,51 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+import java.util.function.Function;
+
+/**
+ * Campos pelos quais a listagem de livros pode ser ordenada. O id é sempre usado como desempate,
+ * o que torna a ordenação total e permite a paginação por keyset sobre (campo, id).
+ */
+public enum CampoOrdenacao {
+
+    ID("id", livro -> String.valueOf(livro.getId()), Long::valueOf),
+    TITULO("titulo", Livro::getTitulo, valor -> valor),
+    ANO_PUBLICACAO("anoPublicacao", livro -> String.valueOf(livro.getAnoPublicacao()), Integer::valueOf);
+
+    private final String atributo;
+    private final Function<Livro, String> extrator;
+    private final Function<String, Comparable<?>> conversor;
+
+    CampoOrdenacao(String atributo, Function<Livro, String> extrator, Function<String, Comparable<?>> conversor) {
+        this.atributo = atributo;
+        this.extrator = extrator;
+        this.conversor = conversor;
+    }
+
+    // Nome do atributo da entidade, que também é o valor aceito no parâmetro "ordenar"
+    public String getAtributo() {
+        return atributo;
+    }
+
+    // Valor do campo no livro, na forma textual guardada no cursor
+    public String valorDe(Livro livro) {
+        return extrator.apply(livro);
+    }
+
+    // Lança IllegalArgumentException se o texto não for um valor válido do campo
+    public Comparable<?> converter(String valor) {
+        return conversor.apply(valor);
+    }
+
+    // Lança IllegalArgumentException para campos não ordenáveis
+    public static CampoOrdenacao doAtributo(String atributo) {
+        for (CampoOrdenacao campo : values()) {
+            if (campo.atributo.equals(atributo)) {
+                return campo;
+            }
+        }
+        throw new IllegalArgumentException("Campo de ordenação desconhecido: " + atributo);
+    }
+}
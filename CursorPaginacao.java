@@ -0,0 +1,51 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica e decodifica o cursor opaco usado na paginação por keyset da listagem de livros.
+ * O cliente apenas devolve o valor recebido em proximoCursor; o formato interno pode mudar
+ * sem quebrar a API.
+ */
+public final class CursorPaginacao {
+
+    // v1 guardava só o último id (listagem sempre ordenada por id); ainda é aceito na leitura
+    private static final String VERSAO_1 = "v1:";
+    private static final String VERSAO_2 = "v2:";
+    private static final String ORDENACAO_V1 = "id,asc";
+
+    /**
+     * Último item entregue: a ordenação em que a página foi lida (ex.: "anoPublicacao,desc"),
+     * o valor do campo ordenado nesse item e o id, que desempata valores iguais.
+     */
+    public record Posicao(String ordenacao, String valor, Long id) {
+    }
+
+    private CursorPaginacao() {
+    }
+
+    public static String codificar(String ordenacao, String valor, Long ultimoId) {
+        String bruto = VERSAO_2 + ordenacao + ":" + ultimoId + ":" + valor;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Lança IllegalArgumentException para cursores malformados ou adulterados
+    public static Posicao decodificar(String cursor) {
+        String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (bruto.startsWith(VERSAO_1)) {
+            String id = bruto.substring(VERSAO_1.length());
+            return new Posicao(ORDENACAO_V1, id, Long.parseLong(id));
+        }
+        if (!bruto.startsWith(VERSAO_2)) {
+            throw new IllegalArgumentException("Versão de cursor desconhecida.");
+        }
+        // O valor vem por último porque pode conter ':' (ex.: títulos)
+        String[] partes = bruto.substring(VERSAO_2.length()).split(":", 3);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Cursor incompleto.");
+        }
+        return new Posicao(partes[0], partes[2], Long.parseLong(partes[1]));
+    }
+}
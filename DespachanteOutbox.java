@@ -0,0 +1,130 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.EventoOutbox;
+import com.biblioteca.biblioteca_api.repository.EventoOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Esvazia o outbox de livros: lê os eventos pendentes em lotes, na ordem em que foram gravados, envia
+ * cada lote a todos os DestinoOutbox e só então remove as linhas. Uma falha deixa o lote no outbox para
+ * a próxima execução, então a entrega é "pelo menos uma vez" e nenhum evento confirmado se perde.
+ *
+ * Pensado para uma única instância da aplicação: com várias, cada uma despacharia os mesmos eventos.
+ */
+@Service
+public class DespachanteOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachanteOutbox.class);
+
+    // Limita o tempo de cada execução: o agendador é compartilhado com outras tarefas (ex.: heartbeat do feed)
+    private static final int MAXIMO_LOTES_POR_EXECUCAO = 20;
+    // Janela usada para calcular a vazão (eventos/s)
+    private static final long JANELA_VAZAO_MS = 60_000;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final List<DestinoOutbox> destinos;
+    private final int tamanhoLote;
+    private final AtomicLong despachados = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    // Atraso (gravação -> envio) do evento mais antigo do último lote enviado
+    private volatile long atrasoUltimoLoteMs;
+    private volatile String ultimaFalha;
+    // (instante do envio, eventos enviados) de cada lote dentro da janela de vazão
+    private final Deque<long[]> enviosRecentes = new ArrayDeque<>();
+
+    public DespachanteOutbox(EventoOutboxRepository eventoOutboxRepository, List<DestinoOutbox> destinos,
+                             @Value("${biblioteca.outbox.tamanho-lote:200}") int tamanhoLote) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.destinos = destinos;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // fixedDelay: uma execução nunca se sobrepõe à anterior, o que mantém a ordem dos lotes
+    @Scheduled(fixedDelayString = "${biblioteca.outbox.intervalo:500ms}")
+    public void despachar() {
+        for (int i = 0; i < MAXIMO_LOTES_POR_EXECUCAO; i++) {
+            List<EventoOutbox> lote = eventoOutboxRepository.findAllByOrderByIdAsc(Limit.of(tamanhoLote));
+            if (lote.isEmpty() || !enviar(lote)) {
+                return;
+            }
+            eventoOutboxRepository.excluirPorIds(lote.stream().map(EventoOutbox::getId).toList());
+            registrarEnvio(lote);
+            if (lote.size() < tamanhoLote) {
+                return;
+            }
+        }
+    }
+
+    private boolean enviar(List<EventoOutbox> lote) {
+        for (DestinoOutbox destino : destinos) {
+            try {
+                destino.enviar(lote);
+            } catch (Exception e) {
+                falhas.incrementAndGet();
+                ultimaFalha = destino.getNome() + ": " + e;
+                log.warn("Falha ao enviar {} eventos do outbox para {}; o lote será reenviado",
+                        lote.size(), destino.getNome(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void registrarEnvio(List<EventoOutbox> lote) {
+        long agora = System.currentTimeMillis();
+        despachados.addAndGet(lote.size());
+        lotes.incrementAndGet();
+        atrasoUltimoLoteMs = agora - lote.get(0).getCriadoEm().toEpochMilli();
+        synchronized (enviosRecentes) {
+            enviosRecentes.addLast(new long[]{agora, lote.size()});
+            descartarForaDaJanela(agora);
+        }
+    }
+
+    private void descartarForaDaJanela(long agora) {
+        while (!enviosRecentes.isEmpty() && enviosRecentes.peekFirst()[0] < agora - JANELA_VAZAO_MS) {
+            enviosRecentes.removeFirst();
+        }
+    }
+
+    public Map<String, Object> estatisticas() {
+        long agora = System.currentTimeMillis();
+        long enviadosNaJanela = 0;
+        synchronized (enviosRecentes) {
+            descartarForaDaJanela(agora);
+            for (long[] envio : enviosRecentes) {
+                enviadosNaJanela += envio[1];
+            }
+        }
+        Instant maisAntigo = eventoOutboxRepository.criadoEmMaisAntigo();
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("destinos", destinos.stream().map(DestinoOutbox::getNome).toList());
+        resultado.put("pendentes", eventoOutboxRepository.count());
+        // Há quanto tempo o evento pendente mais antigo espera (0 com o outbox vazio)
+        resultado.put("atrasoAtualMs", maisAntigo == null ? 0
+                : Math.max(0, Duration.between(maisAntigo, Instant.ofEpochMilli(agora)).toMillis()));
+        resultado.put("atrasoUltimoLoteMs", atrasoUltimoLoteMs);
+        resultado.put("eventosDespachados", despachados.get());
+        resultado.put("lotesDespachados", lotes.get());
+        resultado.put("eventosPorSegundo", enviadosNaJanela * 1000.0 / JANELA_VAZAO_MS);
+        resultado.put("falhas", falhas.get());
+        resultado.put("ultimaFalha", ultimaFalha);
+        return resultado;
+    }
+}
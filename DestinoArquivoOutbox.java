@@ -0,0 +1,59 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.EventoOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino local do outbox: acrescenta cada evento como uma linha JSON (NDJSON) a um arquivo, no lugar
+ * de um broker de mensagens. O lote só é confirmado depois de gravado em disco (force).
+ */
+@Component
+public class DestinoArquivoOutbox implements DestinoOutbox {
+
+    private final Path arquivo;
+
+    public DestinoArquivoOutbox(@Value("${biblioteca.outbox.arquivo:outbox-livros.ndjson}") Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public String getNome() {
+        return "arquivo:" + arquivo;
+    }
+
+    @Override
+    public void enviar(List<EventoOutbox> lote) throws IOException {
+        StringBuilder linhas = new StringBuilder(lote.size() * 256);
+        for (EventoOutbox evento : lote) {
+            // O livro já está em JSON; os demais campos não precisam de escape
+            linhas.append("{\"id\":").append(evento.getId())
+                    .append(",\"tipo\":\"").append(evento.getTipo())
+                    .append("\",\"livroId\":").append(evento.getLivroId())
+                    .append(",\"criadoEm\":\"").append(evento.getCriadoEm())
+                    .append("\",\"livro\":").append(evento.getLivro())
+                    .append("}\n");
+        }
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer conteudo = StandardCharsets.UTF_8.encode(linhas.toString());
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+            canal.force(false);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Destino para onde o DespachanteOutbox envia os eventos de livros (arquivo, fila, outro serviço...).
+ * Cada implementação registrada como bean recebe todos os lotes, em ordem de id.
+ *
+ * A entrega é "pelo menos uma vez": se qualquer destino falhar, o lote inteiro é reenviado a todos
+ * na próxima execução, então um destino pode receber o mesmo evento mais de uma vez (o id o identifica).
+ */
+public interface DestinoOutbox {
+
+    String getNome();
+
+    // Só deve retornar depois que o lote estiver entregue de forma durável; qualquer exceção indica falha
+    void enviar(List<EventoOutbox> lote) throws Exception;
+}
@@ -0,0 +1,123 @@
+package com.biblioteca.biblioteca_api.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diagnóstico do modo com virtual threads (spring.threads.virtual.enabled=true, Java 21+).
+ * Uma virtual thread que bloqueia dentro de um bloco synchronized (comum em drivers JDBC e no Hibernate)
+ * fica fixada (pinned) à thread de plataforma que a executa, e a concorrência volta a ser limitada
+ * pelo número de threads de plataforma. Este componente assina o evento JFR jdk.VirtualThreadPinned
+ * e conta as fixações mais longas que o limite configurado, agrupadas pelo primeiro frame fora do JDK.
+ */
+@Component
+public class DiagnosticoVirtualThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoVirtualThreads.class);
+    private static final String EVENTO_FIXACAO = "jdk.VirtualThreadPinned";
+    // Evita que stacks muito variadas façam o mapa crescer sem limite
+    private static final int MAXIMO_ORIGENS = 100;
+
+    private final boolean virtualThreadsHabilitadas;
+    private final Duration limiteFixacao;
+    private final LongAdder fixacoes = new LongAdder();
+    private final Map<String, LongAdder> fixacoesPorOrigem = new ConcurrentHashMap<>();
+    private RecordingStream gravacao;
+
+    public DiagnosticoVirtualThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsHabilitadas,
+                                     @Value("${biblioteca.virtual-threads.limite-fixacao:20ms}") Duration limiteFixacao) {
+        this.virtualThreadsHabilitadas = virtualThreadsHabilitadas;
+        this.limiteFixacao = limiteFixacao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!virtualThreadsHabilitadas) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled=true exige Java 21+; a aplicação está rodando em Java {}",
+                    Runtime.version().feature());
+            return;
+        }
+        try {
+            gravacao = new RecordingStream();
+            gravacao.enable(EVENTO_FIXACAO).withThreshold(limiteFixacao).withStackTrace();
+            gravacao.onEvent(EVENTO_FIXACAO, this::registrar);
+            gravacao.startAsync();
+            log.info("Monitorando fixações de virtual threads acima de {} ms", limiteFixacao.toMillis());
+        } catch (RuntimeException e) {
+            // JFR pode estar indisponível (ex.: algumas imagens nativas); o modo virtual segue funcionando
+            log.warn("Não foi possível monitorar fixações de virtual threads: {}", e.getMessage());
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        fixacoes.increment();
+        String origem = origem(evento.getStackTrace());
+        LongAdder contador = fixacoesPorOrigem.get(origem);
+        if (contador == null && fixacoesPorOrigem.size() < MAXIMO_ORIGENS) {
+            contador = fixacoesPorOrigem.computeIfAbsent(origem, chave -> new LongAdder());
+            log.warn("Virtual thread fixada por {} ms em {}", evento.getDuration().toMillis(), origem);
+        }
+        if (contador != null) {
+            contador.increment();
+        }
+    }
+
+    // Primeiro frame fora do JDK: normalmente o driver, o pool ou o código da aplicação que bloqueou
+    private static String origem(RecordedStackTrace stack) {
+        if (stack == null) {
+            return "desconhecida";
+        }
+        for (RecordedFrame frame : stack.getFrames()) {
+            String classe = frame.getMethod().getType().getName();
+            if (!classe.startsWith("java.") && !classe.startsWith("jdk.") && !classe.startsWith("sun.")) {
+                return classe + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "jdk";
+    }
+
+    public Map<String, Object> estatisticas() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("virtualThreadsHabilitadas", virtualThreadsHabilitadas);
+        resultado.put("monitorandoFixacoes", gravacao != null);
+        // Threads de plataforma vivas; virtual threads não aparecem nesta contagem
+        resultado.put("threadsPlataforma", threads.getThreadCount());
+        resultado.put("picoThreadsPlataforma", threads.getPeakThreadCount());
+        resultado.put("fixacoes", fixacoes.sum());
+        Map<String, Long> porOrigem = new LinkedHashMap<>();
+        fixacoesPorOrigem.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                        (a, b) -> Long.compare(b.sum(), a.sum())))
+                .forEach(entrada -> porOrigem.put(entrada.getKey(), entrada.getValue().sum()));
+        resultado.put("fixacoesPorOrigem", porOrigem);
+        return resultado;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+}
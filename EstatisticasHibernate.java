@@ -0,0 +1,83 @@
+package com.biblioteca.biblioteca_api.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas do Hibernate (hibernate.generate_statistics) para ajustar o cache de segundo nível:
+ * acertos e faltas de cada região e do cache de consultas, ao lado dos contadores de carga de entidades
+ * e de consultas executadas, que mostram quanto ainda vai ao banco. Acumuladas desde a inicialização.
+ */
+@Component
+public class EstatisticasHibernate {
+
+    private final Statistics statistics;
+
+    public EstatisticasHibernate(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("habilitadas", statistics.isStatisticsEnabled());
+        resultado.put("desde", statistics.getStart());
+        resultado.put("segundoNivel", contadores(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+
+        Map<String, Object> regioes = new TreeMap<>();
+        for (String nome : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regiao = statistics.getCacheRegionStatistics(nome);
+            if (regiao == null) {
+                continue;
+            }
+            Map<String, Object> contadoresRegiao = contadores(regiao.getHitCount(), regiao.getMissCount(),
+                    regiao.getPutCount());
+            contadoresRegiao.put("remocoes", regiao.getRemoveCount());
+            // Nem todo provedor informa a quantidade de entradas (o JCache não informa)
+            if (regiao.getElementCountInMemory() >= 0) {
+                contadoresRegiao.put("entradas", regiao.getElementCountInMemory());
+            }
+            regioes.put(nome, contadoresRegiao);
+        }
+        resultado.put("regioes", regioes);
+
+        Map<String, Object> consultas = contadores(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+        consultas.put("execucoesNoBanco", statistics.getQueryExecutionCount());
+        consultas.put("tempoMaximoMs", statistics.getQueryExecutionMaxTime());
+        consultas.put("consultaMaisLenta", statistics.getQueryExecutionMaxTimeQueryString());
+        resultado.put("consultas", consultas);
+
+        Map<String, Object> entidades = new LinkedHashMap<>();
+        entidades.put("carregadas", statistics.getEntityLoadCount());
+        entidades.put("buscadasNoBanco", statistics.getEntityFetchCount());
+        entidades.put("inseridas", statistics.getEntityInsertCount());
+        entidades.put("atualizadas", statistics.getEntityUpdateCount());
+        entidades.put("excluidas", statistics.getEntityDeleteCount());
+        entidades.put("falhasOtimistas", statistics.getOptimisticFailureCount());
+        resultado.put("entidades", entidades);
+
+        resultado.put("sessoesAbertas", statistics.getSessionOpenCount());
+        resultado.put("conexoesObtidas", statistics.getConnectCount());
+        resultado.put("statementsPreparados", statistics.getPrepareStatementCount());
+        resultado.put("transacoes", statistics.getTransactionCount());
+        return resultado;
+    }
+
+    private static Map<String, Object> contadores(long acertos, long faltas, long gravacoes) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("acertos", acertos);
+        resultado.put("faltas", faltas);
+        resultado.put("gravacoes", gravacoes);
+        long consultas = acertos + faltas;
+        resultado.put("taxaAcerto", consultas == 0 ? 0.0 : (double) acertos / consultas);
+        return resultado;
+    }
+}
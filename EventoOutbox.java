@@ -0,0 +1,71 @@
+package com.biblioteca.biblioteca_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_livro")
+// Evento de alteração de livro à espera de envio aos destinos externos (padrão transactional outbox).
+// É gravado na mesma transação da alteração, então existe se e somente se a alteração foi confirmada;
+// o DespachanteOutbox envia e remove as linhas em lotes.
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_livro_seq")
+    @SequenceGenerator(name = "outbox_livro_seq", sequenceName = "outbox_livro_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AlteracaoLivro.Tipo tipo;
+
+    @Column(nullable = false)
+    private Long livroId;
+
+    // JSON do livro após a alteração; nulo em exclusões
+    @Column(length = 4000)
+    private String livro;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+
+    // Construtores (para uso do JPA e facilidade na criação)
+    public EventoOutbox() {
+    }
+
+    public EventoOutbox(AlteracaoLivro.Tipo tipo, Long livroId, String livro, Instant criadoEm) {
+        this.tipo = tipo;
+        this.livroId = livroId;
+        this.livro = livro;
+        this.criadoEm = criadoEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public AlteracaoLivro.Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getLivroId() {
+        return livroId;
+    }
+
+    public String getLivro() {
+        return livro;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+}
@@ -0,0 +1,33 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.model.EventoOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository da tabela de outbox dos eventos de livros.
+ */
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Próximo lote a despachar, dos eventos mais antigos para os mais novos
+    List<EventoOutbox> findAllByOrderByIdAsc(Limit limit);
+
+    // Instante do evento pendente mais antigo (nulo quando o outbox está vazio), para medir o atraso
+    @Query("select min(e.criadoEm) from EventoOutbox e")
+    Instant criadoEmMaisAntigo();
+
+    @Transactional
+    @Modifying
+    @Query("delete from EventoOutbox e where e.id in :ids")
+    int excluirPorIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,262 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AlteracaoSincronizada;
+import com.biblioteca.biblioteca_api.dto.PaginaAlteracoes;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed de alterações do catálogo em Server-Sent Events (GET /api/livros/alteracoes/feed).
+ * Cada alteração gravada no RegistroAlteracoes é entregue a todos os assinantes, com a sequência
+ * como id do evento; um assinante que reconecta com Last-Event-ID recebe primeiro o que perdeu
+ * (lido do registro) e depois passa a receber as alterações novas.
+ *
+ * Quem publica nunca espera por um cliente: cada assinante tem uma fila limitada, esvaziada por uma
+ * tarefa num executor próprio do feed enquanto houver itens. Se a fila enche, o cliente está lento demais
+ * e é desconectado ali mesmo; ao reconectar, retoma pela última sequência que recebeu.
+ *
+ * Um cliente que parou de ler prende a thread de envio dentro da escrita no socket até o timeout de escrita
+ * do servidor (server.tomcat.connection-timeout), quando o envio falha. Por isso o executor é separado do
+ * applicationTaskExecutor: clientes travados só atrasam outros assinantes do feed, e por no máximo esse tempo.
+ * Com spring.threads.virtual.enabled=true as threads de envio são virtuais e há uma por assinante.
+ */
+@Service
+public class FeedAlteracoes {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedAlteracoes.class);
+
+    // Alterações lidas do registro por consulta ao repor o que o assinante perdeu
+    private static final int TAMANHO_PAGINA_REPOSICAO = 500;
+    // Marca, na fila, um comentário SSE vazio que mantém a conexão viva em proxies
+    private static final Object HEARTBEAT = new Object();
+
+    private final RegistroAlteracoes registroAlteracoes;
+    private final int capacidadeBuffer;
+    private final int maximoAssinantes;
+    private final long timeoutMillis;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor envio = new ThreadPoolTaskExecutor();
+    private final AtomicLong publicadas = new AtomicLong();
+    private final AtomicLong desconectadosPorLentidao = new AtomicLong();
+
+    public FeedAlteracoes(RegistroAlteracoes registroAlteracoes,
+                          @Value("${biblioteca.feed.buffer:256}") int capacidadeBuffer,
+                          @Value("${biblioteca.feed.maximo-assinantes:1000}") int maximoAssinantes,
+                          @Value("${biblioteca.feed.timeout:30m}") Duration timeout,
+                          @Value("${biblioteca.feed.threads-envio:16}") int threadsEnvio,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.registroAlteracoes = registroAlteracoes;
+        this.capacidadeBuffer = capacidadeBuffer;
+        this.maximoAssinantes = maximoAssinantes;
+        this.timeoutMillis = timeout.toMillis();
+        // Cada assinante tem no máximo uma tarefa na fila ou em execução, então a fila do executor
+        // nunca passa do limite de assinantes
+        int threads = virtualThreads ? maximoAssinantes : threadsEnvio;
+        envio.setCorePoolSize(threads);
+        envio.setMaxPoolSize(threads);
+        envio.setKeepAliveSeconds(60);
+        envio.setAllowCoreThreadTimeOut(true);
+        if (virtualThreads) {
+            envio.setThreadFactory(new VirtualThreadTaskExecutor("feed-livros-").getVirtualThreadFactory());
+        } else {
+            envio.setThreadNamePrefix("feed-livros-");
+            envio.setDaemon(true);
+        }
+        envio.initialize();
+    }
+
+    // desde: última sequência que o cliente já tem (nulo = só alterações a partir de agora).
+    // Token inválido ou expirado é recusado antes de abrir o fluxo (400/410), como na sincronização.
+    public SseEmitter assinar(Long desde) {
+        if (desde != null) {
+            registroAlteracoes.verificarToken(desde);
+        }
+        if (assinantes.size() >= maximoAssinantes) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Limite de " + maximoAssinantes + " assinantes do feed atingido; tente novamente mais tarde.");
+        }
+        Emissor emitter = new Emissor(timeoutMillis);
+        Assinante assinante = new Assinante(emitter, desde);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinante.encerrar());
+        // Registrado antes de ler o registro: o que for gravado durante a reposição já cai na fila
+        assinantes.add(assinante);
+        assinante.agendar();
+        return emitter;
+    }
+
+    @EventListener
+    public void aoRegistrarAlteracao(AlteracaoSincronizada alteracao) {
+        publicadas.incrementAndGet();
+        for (Assinante assinante : assinantes) {
+            assinante.oferecer(alteracao);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${biblioteca.feed.heartbeat:15s}")
+    public void enviarHeartbeat() {
+        for (Assinante assinante : assinantes) {
+            assinante.oferecer(HEARTBEAT);
+        }
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("assinantes", assinantes.size());
+        resultado.put("maximoAssinantes", maximoAssinantes);
+        resultado.put("capacidadeBuffer", capacidadeBuffer);
+        resultado.put("alteracoesPublicadas", publicadas.get());
+        resultado.put("desconectadosPorLentidao", desconectadosPorLentidao.get());
+        return resultado;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        envio.shutdown();
+    }
+
+    private final class Assinante implements Runnable {
+
+        private final Emissor emitter;
+        private final BlockingQueue<Object> fila = new ArrayBlockingQueue<>(capacidadeBuffer);
+        // Garante no máximo uma thread enviando para este assinante, na ordem da fila
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile Long reporDesde;
+        private volatile boolean encerrado;
+        // Acessado só pela thread de envio da vez
+        private long ultimaEnviada;
+
+        Assinante(Emissor emitter, Long desde) {
+            this.emitter = emitter;
+            this.reporDesde = desde;
+            this.ultimaEnviada = desde == null ? 0L : desde;
+        }
+
+        void oferecer(Object item) {
+            if (encerrado) {
+                return;
+            }
+            if (!fila.offer(item)) {
+                encerrar();
+                desconectadosPorLentidao.incrementAndGet();
+                log.debug("Assinante do feed desconectado: {} itens pendentes", capacidadeBuffer);
+                // Sem envio em andamento, a conexão é fechada aqui; com um envio em andamento (talvez preso no
+                // socket), a thread de envio a fecha assim que a escrita terminar ou falhar
+                emitter.completarSeLivre();
+                return;
+            }
+            agendar();
+        }
+
+        void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                envio.execute(this);
+            }
+        }
+
+        void encerrar() {
+            encerrado = true;
+            assinantes.remove(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (reporDesde != null) {
+                    repor(reporDesde);
+                    reporDesde = null;
+                }
+                Object item;
+                while (!encerrado && (item = fila.poll()) != null) {
+                    enviar(item);
+                }
+                if (encerrado) {
+                    assinantes.remove(this);
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                // Conexão encerrada pelo cliente, ou token expirado durante a reposição
+                encerrar();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                agendado.set(false);
+            }
+            // Item que chegou depois do último poll, enquanto esta execução ainda estava marcada
+            if (!fila.isEmpty()) {
+                agendar();
+            }
+        }
+
+        // Alterações que o cliente perdeu, lidas do registro; as que também chegarem pela fila são ignoradas
+        private void repor(long desde) throws IOException {
+            PaginaAlteracoes pagina;
+            do {
+                pagina = registroAlteracoes.listarDesde(desde, TAMANHO_PAGINA_REPOSICAO);
+                for (AlteracaoSincronizada alteracao : pagina.alteracoes()) {
+                    enviar(alteracao);
+                }
+                desde = pagina.token();
+            } while (pagina.haMais() && !encerrado);
+        }
+
+        private void enviar(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment(""));
+                return;
+            }
+            AlteracaoSincronizada alteracao = (AlteracaoSincronizada) item;
+            if (alteracao.sequencia() <= ultimaEnviada) {
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(alteracao.sequencia()))
+                    .name("alteracao")
+                    .data(alteracao, MediaType.APPLICATION_JSON));
+            ultimaEnviada = alteracao.sequencia();
+        }
+    }
+
+    private static final class Emissor extends SseEmitter {
+
+        Emissor(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        // complete() espera o envio em andamento terminar; aqui, se houver um, desiste em vez de esperar
+        void completarSeLivre() {
+            if (writeLock.tryLock()) {
+                try {
+                    complete();
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.biblioteca.biblioteca_api.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom com contadores de 4 bits (counting Bloom filter), que aceita remoções.
+ * Responde "talvez contenha" ou "certamente não contém" usando cerca de 5 bytes por elemento
+ * para 1% de falsos positivos. Contadores saturados (15) nunca são decrementados, para não gerar
+ * falsos negativos. Só devem ser removidos elementos que foram adicionados.
+ * Thread-safe e sem bloqueios: cada contador é atualizado com compare-and-set.
+ */
+public class FiltroBloomContador {
+
+    private static final int CONTADORES_POR_PALAVRA = 16;
+    private static final long CONTADOR_MAXIMO = 15;
+
+    private final AtomicLongArray palavras;
+    private final int contadores;
+    private final int funcoesHash;
+    private final AtomicLong elementos = new AtomicLong();
+
+    // Dimensionado pelas fórmulas usuais: m = -n ln(p) / (ln 2)^2 contadores e k = (m / n) ln 2 funções
+    public FiltroBloomContador(long capacidade, double taxaFalsoPositivo) {
+        double ideal = Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.contadores = (int) Math.max(CONTADORES_POR_PALAVRA, Math.min(Integer.MAX_VALUE - CONTADORES_POR_PALAVRA, ideal));
+        this.funcoesHash = Math.max(1, (int) Math.round((double) contadores / capacidade * Math.log(2)));
+        this.palavras = new AtomicLongArray((contadores + CONTADORES_POR_PALAVRA - 1) / CONTADORES_POR_PALAVRA);
+    }
+
+    public void adicionar(long hash) {
+        for (int i = 0; i < funcoesHash; i++) {
+            alterarContador(posicao(hash, i), 1);
+        }
+        elementos.incrementAndGet();
+    }
+
+    public void remover(long hash) {
+        for (int i = 0; i < funcoesHash; i++) {
+            alterarContador(posicao(hash, i), -1);
+        }
+        elementos.decrementAndGet();
+    }
+
+    public boolean talvezContenha(long hash) {
+        for (int i = 0; i < funcoesHash; i++) {
+            int posicao = posicao(hash, i);
+            long palavra = palavras.get(posicao / CONTADORES_POR_PALAVRA);
+            if (((palavra >>> deslocamento(posicao)) & CONTADOR_MAXIMO) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Taxa de falsos positivos esperada para a quantidade atual de elementos: (1 - e^(-kn/m))^k
+    public double taxaFalsoPositivoEstimada() {
+        double ocupacao = 1 - Math.exp(-(double) funcoesHash * elementos.get() / contadores);
+        return Math.pow(ocupacao, funcoesHash);
+    }
+
+    public long getElementos() {
+        return elementos.get();
+    }
+
+    public long getMemoriaBytes() {
+        return palavras.length() * 8L;
+    }
+
+    public int getFuncoesHash() {
+        return funcoesHash;
+    }
+
+    private void alterarContador(int posicao, int delta) {
+        int indice = posicao / CONTADORES_POR_PALAVRA;
+        int deslocamento = deslocamento(posicao);
+        while (true) {
+            long palavra = palavras.get(indice);
+            long contador = (palavra >>> deslocamento) & CONTADOR_MAXIMO;
+            if (contador == CONTADOR_MAXIMO || (delta < 0 && contador == 0)) {
+                return;
+            }
+            long nova = delta > 0 ? palavra + (1L << deslocamento) : palavra - (1L << deslocamento);
+            if (palavras.compareAndSet(indice, palavra, nova)) {
+                return;
+            }
+        }
+    }
+
+    // Hash duplo (Kirsch-Mitzenmacher): as k posições derivam das duas metades de um hash de 64 bits
+    private int posicao(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combinado = h1 + i * h2;
+        if (combinado < 0) {
+            combinado = ~combinado;
+        }
+        return combinado % contadores;
+    }
+
+    private static int deslocamento(int posicao) {
+        return (posicao % CONTADORES_POR_PALAVRA) * 4;
+    }
+
+    // Finalizador do MurmurHash3: espalha bem valores sequenciais como ids
+    public static long hash(long valor) {
+        long h = valor;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // FNV-1a de 64 bits seguido do finalizador acima
+    public static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return hash(h);
+    }
+}
@@ -0,0 +1,100 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtros de Bloom sobre os ids e ISBNs existentes, para responder "não existe" sem ir ao banco
+ * (ex.: robôs pedindo ids inexistentes). Um "talvez exista" segue o caminho normal até o banco.
+ *
+ * Para remover apenas o que foi adicionado (e nunca gerar falsos negativos), o estado anterior de cada
+ * livro vem do IndiceIsbn, que é exato; por isso este índice precisa ser aplicado antes dele
+ * (o IndicesLivrosService aplica cada alteração a todos os índices sem intercalação).
+ * Até o catálogo terminar de carregar na inicialização, toda consulta responde "talvez exista".
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroBloomLivros implements IndiceLivros {
+
+    private final IndiceIsbn indiceIsbn;
+    private final FiltroBloomContador ids;
+    private final FiltroBloomContador isbns;
+    private volatile boolean pronto;
+    private final LongAdder consultasEvitadas = new LongAdder();
+
+    public FiltroBloomLivros(IndiceIsbn indiceIsbn,
+                             @Value("${biblioteca.bloom.capacidade:1000000}") long capacidade,
+                             @Value("${biblioteca.bloom.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+        this.indiceIsbn = indiceIsbn;
+        this.ids = new FiltroBloomContador(capacidade, taxaFalsoPositivo);
+        this.isbns = new FiltroBloomContador(capacidade, taxaFalsoPositivo);
+    }
+
+    @Override
+    public void indexar(Livro livro) {
+        String isbnAnterior = indiceIsbn.isbnDoLivro(livro.getId());
+        if (isbnAnterior == null) {
+            ids.adicionar(FiltroBloomContador.hash(livro.getId()));
+        } else if (!isbnAnterior.equals(livro.getIsbn())) {
+            isbns.remover(FiltroBloomContador.hash(isbnAnterior));
+        } else {
+            return;
+        }
+        isbns.adicionar(FiltroBloomContador.hash(livro.getIsbn()));
+    }
+
+    @Override
+    public void remover(Long id) {
+        String isbnAnterior = indiceIsbn.isbnDoLivro(id);
+        if (isbnAnterior != null) {
+            ids.remover(FiltroBloomContador.hash(id));
+            isbns.remover(FiltroBloomContador.hash(isbnAnterior));
+        }
+    }
+
+    @Override
+    public void carregamentoConcluido() {
+        pronto = true;
+    }
+
+    // Falso significa que o livro certamente não existe
+    public boolean talvezExistaId(Long id) {
+        return registrar(!pronto || ids.talvezContenha(FiltroBloomContador.hash(id)));
+    }
+
+    public boolean talvezExistaIsbn(String isbnCanonico) {
+        return registrar(!pronto || isbns.talvezContenha(FiltroBloomContador.hash(isbnCanonico)));
+    }
+
+    private boolean registrar(boolean talvezExista) {
+        if (!talvezExista) {
+            consultasEvitadas.increment();
+        }
+        return talvezExista;
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("pronto", pronto);
+        resultado.put("consultasEvitadas", consultasEvitadas.sum());
+        resultado.put("ids", estatisticas(ids));
+        resultado.put("isbns", estatisticas(isbns));
+        return resultado;
+    }
+
+    private static Map<String, Object> estatisticas(FiltroBloomContador filtro) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("elementos", filtro.getElementos());
+        resultado.put("funcoesHash", filtro.getFuncoesHash());
+        resultado.put("memoriaBytes", filtro.getMemoriaBytes());
+        resultado.put("taxaFalsoPositivoEstimada", filtro.taxaFalsoPositivoEstimada());
+        return resultado;
+    }
+}
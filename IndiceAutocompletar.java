@@ -0,0 +1,109 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Autocompletar de títulos e autores por prefixo, sem acentos e sem diferenciar maiúsculas.
+ * O peso de cada sugestão é a quantidade de livros com aquele título ou autor,
+ * então os mais frequentes no catálogo aparecem primeiro.
+ */
+@Component
+public class IndiceAutocompletar implements IndiceLivros {
+
+    public enum Tipo { TITULO, AUTOR }
+
+    public record Sugestao(String texto, Tipo tipo, int peso) {
+    }
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final TrieRadix titulos = new TrieRadix();
+    private final TrieRadix autores = new TrieRadix();
+    // Último título/autor indexado de cada livro, para desfazer a contribuição dele em atualizações e exclusões
+    private final Map<Long, String[]> indexados = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void indexar(Livro livro) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(livro.getId());
+            String titulo = livro.getTitulo() == null ? "" : livro.getTitulo().trim();
+            String autor = livro.getAutor() == null ? "" : livro.getAutor().trim();
+            titulos.adicionar(chave(titulo), titulo, 1);
+            autores.adicionar(chave(autor), autor, 1);
+            indexados.put(livro.getId(), new String[]{titulo, autor});
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        String[] anterior = indexados.remove(id);
+        if (anterior != null) {
+            titulos.subtrair(chave(anterior[0]), 1);
+            autores.subtrair(chave(anterior[1]), 1);
+        }
+    }
+
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        String chavePrefixo = ESPACOS.matcher(TokenizadorPortugues.normalizar(prefixo).stripLeading()).replaceAll(" ");
+        if (chavePrefixo.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        List<Sugestao> sugestoes = new ArrayList<>(limite * 2);
+        lock.readLock().lock();
+        try {
+            for (TrieRadix.Entrada entrada : titulos.melhores(chavePrefixo, limite)) {
+                sugestoes.add(new Sugestao(entrada.exibicao(), Tipo.TITULO, entrada.peso()));
+            }
+            for (TrieRadix.Entrada entrada : autores.melhores(chavePrefixo, limite)) {
+                sugestoes.add(new Sugestao(entrada.exibicao(), Tipo.AUTOR, entrada.peso()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        sugestoes.sort(Comparator.comparingInt(Sugestao::peso).reversed());
+        return sugestoes.size() > limite ? sugestoes.subList(0, limite) : sugestoes;
+    }
+
+    public Map<String, Object> estatisticas() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("titulosDistintos", titulos.getQuantidadeChaves());
+            resultado.put("autoresDistintos", autores.getQuantidadeChaves());
+            resultado.put("nos", titulos.getQuantidadeNos() + autores.getQuantidadeNos());
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Chave de comparação: sem acentos, minúscula e com espaços normalizados
+    private static String chave(String texto) {
+        return ESPACOS.matcher(TokenizadorPortugues.normalizar(texto).trim()).replaceAll(" ");
+    }
+}
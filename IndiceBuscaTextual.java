@@ -0,0 +1,155 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre titulo e autor, com ranqueamento BM25.
+ * Para cada termo guarda os livros que o contêm e a frequência do termo em cada um;
+ * para cada livro guarda seus termos, o que permite remover e reindexar de forma incremental.
+ */
+@Component
+public class IndiceBuscaTextual implements IndiceLivros {
+
+    // Parâmetros usuais do BM25: saturação da frequência (k1) e normalização pelo tamanho (b)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    public record Resultado(Long id, double pontuacao) {
+    }
+
+    private record Documento(Map<String, Integer> frequencias, int comprimento) {
+    }
+
+    private final Map<String, Map<Long, Integer>> listasInvertidas = new HashMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private long comprimentoTotal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void indexar(Livro livro) {
+        List<String> tokens = TokenizadorPortugues.tokenizar(livro.getTitulo());
+        tokens.addAll(TokenizadorPortugues.tokenizar(livro.getAutor()));
+        Map<String, Integer> frequencias = new HashMap<>();
+        for (String token : tokens) {
+            frequencias.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removerSemLock(livro.getId());
+            for (Map.Entry<String, Integer> termo : frequencias.entrySet()) {
+                listasInvertidas.computeIfAbsent(termo.getKey(), t -> new HashMap<>())
+                        .put(livro.getId(), termo.getValue());
+            }
+            documentos.put(livro.getId(), new Documento(frequencias, tokens.size()));
+            comprimentoTotal += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String termo : anterior.frequencias().keySet()) {
+            Map<Long, Integer> lista = listasInvertidas.get(termo);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    listasInvertidas.remove(termo);
+                }
+            }
+        }
+        comprimentoTotal -= anterior.comprimento();
+    }
+
+    // Retorna os k livros mais relevantes para a consulta, do mais para o menos relevante
+    public List<Resultado> buscar(String consulta, int k) {
+        // Termos repetidos na consulta contam uma vez só
+        List<String> termos = new ArrayList<>(new LinkedHashSet<>(TokenizadorPortugues.tokenizar(consulta)));
+        if (termos.isEmpty() || k < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocumentos = documentos.size();
+            if (totalDocumentos == 0) {
+                return List.of();
+            }
+            double comprimentoMedio = (double) comprimentoTotal / totalDocumentos;
+
+            Map<Long, Double> pontuacoes = new HashMap<>();
+            for (String termo : termos) {
+                Map<Long, Integer> lista = listasInvertidas.get(termo);
+                if (lista == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (totalDocumentos - lista.size() + 0.5) / (lista.size() + 0.5));
+                for (Map.Entry<Long, Integer> ocorrencia : lista.entrySet()) {
+                    int frequencia = ocorrencia.getValue();
+                    int comprimento = documentos.get(ocorrencia.getKey()).comprimento();
+                    double parcial = idf * frequencia * (K1 + 1)
+                            / (frequencia + K1 * (1 - B + B * comprimento / comprimentoMedio));
+                    pontuacoes.merge(ocorrencia.getKey(), parcial, Double::sum);
+                }
+            }
+            return melhores(pontuacoes, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Top-k com um heap de tamanho k: O(n log k) em vez de ordenar todos os candidatos
+    private static List<Resultado> melhores(Map<Long, Double> pontuacoes, int k) {
+        Comparator<Resultado> ordem = Comparator.comparingDouble(Resultado::pontuacao)
+                .thenComparing(Resultado::id, Comparator.reverseOrder());
+        PriorityQueue<Resultado> heap = new PriorityQueue<>(k + 1, ordem);
+        for (Map.Entry<Long, Double> pontuacao : pontuacoes.entrySet()) {
+            heap.add(new Resultado(pontuacao.getKey(), pontuacao.getValue()));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Resultado> resultado = new ArrayList<>(heap);
+        resultado.sort(ordem.reversed());
+        return resultado;
+    }
+
+    public Map<String, Object> estatisticas() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("documentos", documentos.size());
+            resultado.put("termos", listasInvertidas.size());
+            resultado.put("comprimentoMedio", documentos.isEmpty() ? 0 : (double) comprimentoTotal / documentos.size());
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
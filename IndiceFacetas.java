@@ -0,0 +1,273 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.ResultadoFacetas;
+import com.biblioteca.biblioteca_api.model.Livro;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índices de bitmap comprimidos (Roaring) para as facetas da listagem: um bitmap de ids por autor,
+ * por década de publicação e por disponibilidade. Filtrar é intersectar bitmaps e contar é tirar a
+ * cardinalidade da interseção, sem materializá-la e sem consultar o banco.
+ *
+ * Quando o filtro já é seletivo, intersectar um bitmap por valor custa mais do que percorrer os ids
+ * filtrados e somar pelo valor de cada um (autorDoLivro, decadaDoLivro); a escolha é feita por faceta.
+ * Os ids dos livros precisam caber em um int (ver Math.toIntExact).
+ */
+@Component
+public class IndiceFacetas implements IndiceLivros {
+
+    private static final int SEM_VALOR = -1;
+    // Abaixo desta fração do catálogo, contar percorrendo os ids filtrados é mais barato
+    private static final int FRACAO_PERCORRER_IDS = 8;
+
+    private final RoaringBitmap todos = new RoaringBitmap();
+    private final RoaringBitmap disponiveis = new RoaringBitmap();
+    private final Map<Integer, RoaringBitmap> porDecada = new HashMap<>();
+    // Autores recebem um número (ordinal) na primeira vez que aparecem; o bitmap de cada um fica na mesma posição.
+    // Quando o último livro de um autor sai, o ordinal é liberado (autor nulo, bitmap vazio) e reaproveitado
+    private final Map<String, Integer> ordinalDoAutor = new HashMap<>();
+    private final List<String> autores = new ArrayList<>();
+    private final List<RoaringBitmap> porAutor = new ArrayList<>();
+    private final Deque<Integer> ordinaisLivres = new ArrayDeque<>();
+    // Valores indexados de cada livro (posição = id), para contar por id e desfazer atualizações e exclusões
+    private int[] autorDoLivro = new int[0];
+    private int[] decadaDoLivro = new int[0];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void indexar(Livro livro) {
+        int id = Math.toIntExact(livro.getId());
+        String autor = livro.getAutor() == null ? "" : livro.getAutor().trim();
+        Integer decada = decada(livro.getAnoPublicacao());
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            garantirCapacidade(id);
+            int ordinal = ordinalDoAutor.computeIfAbsent(autor, this::novoOrdinal);
+            todos.add(id);
+            if (livro.isDisponivel()) {
+                disponiveis.add(id);
+            }
+            porAutor.get(ordinal).add(id);
+            autorDoLivro[id] = ordinal;
+            if (decada != null) {
+                porDecada.computeIfAbsent(decada, chave -> new RoaringBitmap()).add(id);
+                decadaDoLivro[id] = decada;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(Math.toIntExact(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemLock(int id) {
+        if (!todos.contains(id)) {
+            return;
+        }
+        todos.remove(id);
+        disponiveis.remove(id);
+        int ordinal = autorDoLivro[id];
+        porAutor.get(ordinal).remove(id);
+        if (porAutor.get(ordinal).isEmpty()) {
+            ordinalDoAutor.remove(autores.get(ordinal));
+            autores.set(ordinal, null);
+            ordinaisLivres.push(ordinal);
+        }
+        autorDoLivro[id] = SEM_VALOR;
+        if (decadaDoLivro[id] != SEM_VALOR) {
+            RoaringBitmap bitmapDecada = porDecada.get(decadaDoLivro[id]);
+            bitmapDecada.remove(id);
+            if (bitmapDecada.isEmpty()) {
+                porDecada.remove(decadaDoLivro[id]);
+            }
+            decadaDoLivro[id] = SEM_VALOR;
+        }
+    }
+
+    private int novoOrdinal(String autor) {
+        Integer livre = ordinaisLivres.poll();
+        if (livre != null) {
+            autores.set(livre, autor);
+            return livre;
+        }
+        autores.add(autor);
+        porAutor.add(new RoaringBitmap());
+        return autores.size() - 1;
+    }
+
+    private void garantirCapacidade(int id) {
+        if (id >= autorDoLivro.length) {
+            int tamanho = Math.max(id + 1, (int) Math.min(Integer.MAX_VALUE - 8, autorDoLivro.length * 3L / 2));
+            int inicio = autorDoLivro.length;
+            autorDoLivro = Arrays.copyOf(autorDoLivro, tamanho);
+            decadaDoLivro = Arrays.copyOf(decadaDoLivro, tamanho);
+            Arrays.fill(autorDoLivro, inicio, tamanho, SEM_VALOR);
+            Arrays.fill(decadaDoLivro, inicio, tamanho, SEM_VALOR);
+        }
+    }
+
+    // Depois da carga inicial, converte em runs os trechos contínuos de ids (comuns com ids sequenciais)
+    @Override
+    public void carregamentoConcluido() {
+        lock.writeLock().lock();
+        try {
+            todos.runOptimize();
+            disponiveis.runOptimize();
+            porAutor.forEach(RoaringBitmap::runOptimize);
+            porDecada.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Filtros nulos não restringem; limiteAutores corta a faceta de autores nos mais frequentes
+    public ResultadoFacetas contar(String autor, Integer decada, Boolean disponivel, int limiteAutores) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap filtroAutor = null;
+            if (autor != null) {
+                Integer ordinal = ordinalDoAutor.get(autor);
+                filtroAutor = ordinal == null ? new RoaringBitmap() : porAutor.get(ordinal);
+            }
+            RoaringBitmap filtroDecada = decada == null ? null : porDecada.getOrDefault(decada, new RoaringBitmap());
+            RoaringBitmap filtroDisponivel = disponivel == null ? null
+                    : disponivel ? disponiveis : RoaringBitmap.andNot(todos, disponiveis);
+
+            RoaringBitmap semAutor = intersecao(filtroDecada, filtroDisponivel);
+            RoaringBitmap semDecada = intersecao(filtroAutor, filtroDisponivel);
+            RoaringBitmap semDisponivel = intersecao(filtroAutor, filtroDecada);
+            long total = filtroAutor == null ? semAutor.getLongCardinality() : contar(semAutor, filtroAutor);
+
+            long quantidadeDisponiveis = contar(semDisponivel, disponiveis);
+            Map<Boolean, Long> contagemDisponivel = new LinkedHashMap<>();
+            contagemDisponivel.put(true, quantidadeDisponiveis);
+            contagemDisponivel.put(false, semDisponivel.getLongCardinality() - quantidadeDisponiveis);
+
+            return new ResultadoFacetas(total, contarAutores(semAutor, limiteAutores), contarDecadas(semDecada),
+                    contagemDisponivel);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Long> contarAutores(RoaringBitmap filtro, int limite) {
+        long[] contagens = new long[autores.size()];
+        if (percorrerIds(filtro)) {
+            IntIterator ids = filtro.getIntIterator();
+            while (ids.hasNext()) {
+                contagens[autorDoLivro[ids.next()]]++;
+            }
+        } else {
+            for (int ordinal = 0; ordinal < contagens.length; ordinal++) {
+                contagens[ordinal] = contar(filtro, porAutor.get(ordinal));
+            }
+        }
+
+        List<Integer> comLivros = new ArrayList<>();
+        for (int ordinal = 0; ordinal < contagens.length; ordinal++) {
+            if (contagens[ordinal] > 0) {
+                comLivros.add(ordinal);
+            }
+        }
+        comLivros.sort((a, b) -> contagens[a] != contagens[b]
+                ? Long.compare(contagens[b], contagens[a])
+                : autores.get(a).compareTo(autores.get(b)));
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (Integer ordinal : comLivros.subList(0, Math.min(Math.max(0, limite), comLivros.size()))) {
+            resultado.put(autores.get(ordinal), contagens[ordinal]);
+        }
+        return resultado;
+    }
+
+    private Map<Integer, Long> contarDecadas(RoaringBitmap filtro) {
+        Map<Integer, Long> resultado = new TreeMap<>();
+        if (percorrerIds(filtro)) {
+            IntIterator ids = filtro.getIntIterator();
+            while (ids.hasNext()) {
+                int decada = decadaDoLivro[ids.next()];
+                if (decada != SEM_VALOR) {
+                    resultado.merge(decada, 1L, Long::sum);
+                }
+            }
+        } else {
+            porDecada.forEach((valor, bitmap) -> {
+                long quantidade = contar(filtro, bitmap);
+                if (quantidade > 0) {
+                    resultado.put(valor, quantidade);
+                }
+            });
+        }
+        return resultado;
+    }
+
+    private boolean percorrerIds(RoaringBitmap filtro) {
+        return filtro != todos && filtro.getLongCardinality() * FRACAO_PERCORRER_IDS < todos.getLongCardinality();
+    }
+
+    // Todo bitmap é subconjunto de todos: sem filtro, a contagem é a própria cardinalidade
+    private long contar(RoaringBitmap filtro, RoaringBitmap bitmap) {
+        return filtro == todos ? bitmap.getLongCardinality() : RoaringBitmap.andCardinality(filtro, bitmap);
+    }
+
+    // Interseção dos filtros informados; sem filtros, o catálogo inteiro
+    private RoaringBitmap intersecao(RoaringBitmap primeiro, RoaringBitmap segundo) {
+        if (primeiro == null && segundo == null) {
+            return todos;
+        }
+        if (primeiro == null || segundo == null) {
+            return primeiro == null ? segundo : primeiro;
+        }
+        return RoaringBitmap.and(primeiro, segundo);
+    }
+
+    public static Integer decada(Integer anoPublicacao) {
+        return anoPublicacao == null ? null : Math.floorDiv(anoPublicacao, 10) * 10;
+    }
+
+    public Map<String, Object> estatisticas() {
+        lock.readLock().lock();
+        try {
+            long bytes = todos.getLongSizeInBytes() + disponiveis.getLongSizeInBytes();
+            int autoresComLivros = 0;
+            for (RoaringBitmap bitmap : porAutor) {
+                bytes += bitmap.getLongSizeInBytes();
+                autoresComLivros += bitmap.isEmpty() ? 0 : 1;
+            }
+            for (RoaringBitmap bitmap : porDecada.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("livros", todos.getLongCardinality());
+            resultado.put("autores", autoresComLivros);
+            resultado.put("decadas", porDecada.size());
+            resultado.put("bytesBitmaps", bytes);
+            resultado.put("bytesPorId", autorDoLivro.length * 8L);
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
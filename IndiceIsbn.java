@@ -0,0 +1,73 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mapa em memória de ISBN (canônico) para id do livro. Responde às buscas por ISBN e às
+ * verificações de duplicidade sem consultar o banco; o índice único da coluna isbn continua
+ * sendo a garantia final contra duplicatas.
+ */
+@Component
+public class IndiceIsbn implements IndiceLivros {
+
+    private final Map<String, Long> idPorIsbn = new ConcurrentHashMap<>();
+    private final Map<Long, String> isbnPorId = new ConcurrentHashMap<>();
+    // ReentrantLock em vez de synchronized: não fixa a virtual thread na thread de plataforma
+    private final Lock escrita = new ReentrantLock();
+
+    // Leituras não bloqueiam; as escritas são serializadas para manter os dois mapas coerentes
+    @Override
+    public void indexar(Livro livro) {
+        escrita.lock();
+        try {
+            String anterior = isbnPorId.put(livro.getId(), livro.getIsbn());
+            if (anterior != null && !anterior.equals(livro.getIsbn())) {
+                idPorIsbn.remove(anterior, livro.getId());
+            }
+            idPorIsbn.put(livro.getIsbn(), livro.getId());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    @Override
+    public void remover(Long id) {
+        escrita.lock();
+        try {
+            String anterior = isbnPorId.remove(id);
+            if (anterior != null) {
+                idPorIsbn.remove(anterior, id);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public Optional<Long> buscarId(String isbnCanonico) {
+        return Optional.ofNullable(idPorIsbn.get(isbnCanonico));
+    }
+
+    public String isbnDoLivro(Long id) {
+        return isbnPorId.get(id);
+    }
+
+    // Verdadeiro se o ISBN já pertence a outro livro (idAtual nulo na criação)
+    public boolean pertenceAOutroLivro(String isbnCanonico, Long idAtual) {
+        Long dono = idPorIsbn.get(isbnCanonico);
+        return dono != null && !dono.equals(idAtual);
+    }
+
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("isbns", idPorIsbn.size());
+        return resultado;
+    }
+}
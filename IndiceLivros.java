@@ -0,0 +1,21 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+/**
+ * Estrutura em memória derivada do catálogo (busca textual, autocompletar, etc.).
+ * Implementações são carregadas na inicialização e mantidas em dia pelo IndicesLivrosService,
+ * que as aplica na ordem de @Order.
+ */
+public interface IndiceLivros {
+
+    // Insere ou substitui o livro no índice (o estado anterior do mesmo id deve ser descartado)
+    void indexar(Livro livro);
+
+    // Remove o livro do índice; ids desconhecidos devem ser ignorados
+    void remover(Long id);
+
+    // Chamado uma vez, quando a carga inicial do catálogo termina
+    default void carregamentoConcluido() {
+    }
+}
@@ -0,0 +1,118 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Mantém todos os IndiceLivros sincronizados com o banco: carrega o catálogo uma única vez
+ * na inicialização (uma só leitura em fluxo alimenta todos os índices) e depois aplica
+ * cada LivroAlteradoEvento de forma incremental.
+ *
+ * Os eventos chegam depois do commit e podem chegar fora de ordem para o mesmo livro, então cada id guarda
+ * a última versão aplicada e versões mais antigas são descartadas. Uma falha em um índice é registrada no log
+ * e não impede que os demais (inclusive o filtro de Bloom) recebam a alteração.
+ */
+@Service
+public class IndicesLivrosService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndicesLivrosService.class);
+    // Versão registrada para ids excluídos: como ids não são reutilizados, nada mais é aplicado a eles
+    private static final long EXCLUIDO = Long.MAX_VALUE;
+
+    private final List<IndiceLivros> indices;
+    private final LivroRepository livroRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    // Serializa a aplicação das alterações (ver aoAlterarLivro); ReentrantLock não fixa virtual threads
+    private final Lock aplicacao = new ReentrantLock();
+    // Última versão aplicada de cada id; protegido por aplicacao
+    private final Map<Long, Long> versoesAplicadas = new HashMap<>();
+
+    public IndicesLivrosService(List<IndiceLivros> indices, LivroRepository livroRepository,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.indices = indices;
+        this.livroRepository = livroRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarCatalogo() {
+        long inicio = System.currentTimeMillis();
+        Integer total = transactionTemplate.execute(status -> {
+            int quantidade = 0;
+            // O catálogo inteiro passa por aqui; no cache de segundo nível despejaria os livros mais lidos
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            try (Stream<Livro> livros = livroRepository.streamTodosOrdenadosPorId()) {
+                for (Livro livro : (Iterable<Livro>) livros::iterator) {
+                    aplicar(livro.getId(), livro.getVersao(), livro);
+                    entityManager.detach(livro);
+                    quantidade++;
+                }
+            }
+            return quantidade;
+        });
+        indices.forEach(IndiceLivros::carregamentoConcluido);
+        log.info("{} livros carregados em {} índices em memória em {} ms",
+                total, indices.size(), System.currentTimeMillis() - inicio);
+    }
+
+    // Cada alteração é aplicada a todos os índices de uma vez, para que um índice possa consultar
+    // o estado anterior mantido por outro (ex.: FiltroBloomLivros e IndiceIsbn)
+    @EventListener
+    public void aoAlterarLivro(LivroAlteradoEvento evento) {
+        if (evento.tipo() == LivroAlteradoEvento.Tipo.EXCLUIDO) {
+            aplicar(evento.id(), EXCLUIDO, null);
+        } else {
+            aplicar(evento.id(), evento.livro().getVersao(), evento.livro());
+        }
+    }
+
+    // Indexa o livro (ou remove o id, com livro nulo) em todos os índices, a menos que uma versão
+    // mais nova do mesmo id já tenha sido aplicada (ex.: evento atrasado, ou linha lida na carga inicial
+    // antes de uma atualização que chegou primeiro pelo evento)
+    private void aplicar(Long id, Long versao, Livro livro) {
+        aplicacao.lock();
+        try {
+            Long aplicada = versoesAplicadas.get(id);
+            if (aplicada != null && versao != null && versao < aplicada) {
+                log.debug("Alteração do livro {} ignorada nos índices: versão {} é anterior à {}", id, versao, aplicada);
+                return;
+            }
+            if (versao != null) {
+                versoesAplicadas.put(id, versao);
+            }
+            for (IndiceLivros indice : indices) {
+                try {
+                    if (livro == null) {
+                        indice.remover(id);
+                    } else {
+                        indice.indexar(livro);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Falha ao aplicar a alteração do livro {} em {}", id, indice.getClass().getSimpleName(), e);
+                }
+            }
+        } finally {
+            aplicacao.unlock();
+        }
+    }
+}
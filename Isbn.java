@@ -0,0 +1,81 @@
+package com.biblioteca.biblioteca_api.model;
+
+/**
+ * Normalização e validação de ISBN. Aceita ISBN-10 e ISBN-13, com ou sem hífens e espaços,
+ * e devolve sempre o ISBN-13 canônico (apenas os 13 dígitos), que é a forma gravada no banco.
+ */
+public final class Isbn {
+
+    private Isbn() {
+    }
+
+    // Lança IllegalArgumentException quando o valor não é um ISBN válido
+    public static String normalizar(String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("O ISBN é obrigatório.");
+        }
+        StringBuilder limpo = new StringBuilder(13);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            limpo.append(Character.toUpperCase(c));
+        }
+
+        String isbn = limpo.toString();
+        if (isbn.length() == 10) {
+            return converterIsbn10(isbn);
+        }
+        if (isbn.length() == 13) {
+            validarIsbn13(isbn);
+            return isbn;
+        }
+        throw new IllegalArgumentException("ISBN inválido: '" + valor + "' deve ter 10 ou 13 dígitos.");
+    }
+
+    private static String converterIsbn10(String isbn) {
+        int soma = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = isbn.charAt(i);
+            int digito;
+            if (c == 'X' && i == 9) {
+                digito = 10;
+            } else if (c >= '0' && c <= '9') {
+                digito = c - '0';
+            } else {
+                throw new IllegalArgumentException("ISBN inválido: '" + isbn + "' contém caracteres não numéricos.");
+            }
+            soma += digito * (10 - i);
+        }
+        if (soma % 11 != 0) {
+            throw new IllegalArgumentException("ISBN inválido: dígito verificador do ISBN-10 '" + isbn + "' não confere.");
+        }
+        // ISBN-10 equivale ao ISBN-13 com prefixo 978 e novo dígito verificador
+        String semDigito = "978" + isbn.substring(0, 9);
+        return semDigito + digitoVerificadorIsbn13(semDigito);
+    }
+
+    private static void validarIsbn13(String isbn) {
+        for (int i = 0; i < 13; i++) {
+            if (isbn.charAt(i) < '0' || isbn.charAt(i) > '9') {
+                throw new IllegalArgumentException("ISBN inválido: '" + isbn + "' contém caracteres não numéricos.");
+            }
+        }
+        if (!isbn.startsWith("978") && !isbn.startsWith("979")) {
+            throw new IllegalArgumentException("ISBN inválido: ISBN-13 deve começar com 978 ou 979.");
+        }
+        if (digitoVerificadorIsbn13(isbn.substring(0, 12)) != isbn.charAt(12) - '0') {
+            throw new IllegalArgumentException("ISBN inválido: dígito verificador do ISBN-13 '" + isbn + "' não confere.");
+        }
+    }
+
+    private static int digitoVerificadorIsbn13(String dozeDigitos) {
+        int soma = 0;
+        for (int i = 0; i < 12; i++) {
+            int digito = dozeDigitos.charAt(i) - '0';
+            soma += (i % 2 == 0) ? digito : digito * 3;
+        }
+        return (10 - soma % 10) % 10;
+    }
+}
@@ -0,0 +1,76 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê livros um a um de um InputStream, aceitando tanto um array JSON quanto NDJSON
+ * (um objeto por linha). Só o item atual é mantido em memória: o próximo é lido do corpo
+ * da requisição apenas quando pedido, o que aplica contrapressão ao cliente.
+ * Erros de sintaxe são propagados como JacksonException.
+ */
+public class LeitorLivrosJson implements Iterator<Livro>, AutoCloseable {
+
+    private final ObjectReader leitorLivro;
+    private final JsonParser parser;
+    private boolean dentroDeArray;
+    private boolean iniciado;
+    private JsonToken tokenAtual;
+
+    public LeitorLivrosJson(ObjectMapper objectMapper, InputStream entrada) {
+        // Cada item é lido no meio do fluxo, então os tokens seguintes não são "sobras" do valor
+        this.leitorLivro = objectMapper.readerFor(Livro.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.parser = objectMapper.createParser(entrada);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (tokenAtual == null) {
+            avancar();
+        }
+        return tokenAtual == JsonToken.START_OBJECT;
+    }
+
+    @Override
+    public Livro next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Livro livro = leitorLivro.readValue(parser);
+        tokenAtual = null;
+        return livro;
+    }
+
+    private void avancar() {
+        JsonToken token = parser.nextToken();
+        if (!iniciado) {
+            iniciado = true;
+            if (token == JsonToken.START_ARRAY) {
+                dentroDeArray = true;
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (dentroDeArray && token == JsonToken.END_ARRAY)) {
+            tokenAtual = JsonToken.NOT_AVAILABLE;
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Esperado um objeto JSON de livro, encontrado: " + token);
+        }
+        tokenAtual = token;
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+    }
+}
@@ -1,19 +1,49 @@
 package com.biblioteca.biblioteca_api.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+// O ISBN é gravado na forma canônica (ISBN-13, só dígitos) e não pode se repetir.
+// Os demais índices cobrem os filtros e ordenações da listagem (GET /api/livros): o composto de autor
+// atende autor, autor+disponivel e autor+disponivel+ano; o de disponibilidade atende disponivel e
+// disponivel+ano; os de ano e título atendem a faixa de anos e as ordenações sem filtro.
+@Table(indexes = {
+        @Index(name = Livro.INDICE_ISBN, columnList = "isbn", unique = true),
+        @Index(name = "idx_livro_autor_disponivel_ano", columnList = "autor, disponivel, ano_publicacao"),
+        @Index(name = "idx_livro_disponivel_ano", columnList = "disponivel, ano_publicacao"),
+        @Index(name = "idx_livro_ano", columnList = "ano_publicacao"),
+        @Index(name = "idx_livro_titulo", columnList = "titulo")
+})
+// Cache de segundo nível do Hibernate (região "livros", limitada em application.conf): findById e as consultas
+// cacheáveis do LivroRepository não vão ao banco enquanto o livro não muda. READ_WRITE porque a API altera livros;
+// os UPDATE/DELETE em JPQL do LivroRepository esvaziam a região inteira, já que o Hibernate não sabe quais linhas mudaram.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livros")
 public class Livro {
 
+    // Nome do índice único do ISBN, usado para reconhecer a violação dele entre as demais (ver LivroController)
+    public static final String INDICE_ISBN = "uk_livro_isbn";
+
+    // Sequence com alocação em blocos (pooled): o Hibernate reserva 50 ids por ida ao banco e
+    // conhece o id antes do INSERT, o que permite agrupar os INSERTs em lotes JDBC.
+    // Com IDENTITY cada INSERT precisava ser executado sozinho para devolver o id gerado.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "livro_seq")
+    @SequenceGenerator(name = "livro_seq", sequenceName = "livro_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O título é obrigatório.")
@@ -34,6 +64,10 @@ public class Livro {
 
     private boolean disponivel = true; // Valor padrão como disponível
 
+    // Controle de concorrência otimista: incrementado a cada atualização e exposto como ETag
+    @Version
+    private Long versao;
+
     // Construtores (para uso do JPA e facilidade na criação)
     public Livro() {
     }
@@ -95,4 +129,12 @@ public class Livro {
     public void setDisponivel(boolean disponivel) {
         this.disponivel = disponivel;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
\ No newline at end of file
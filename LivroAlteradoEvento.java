@@ -0,0 +1,24 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+/**
+ * Evento publicado pelos caminhos de escrita depois que um livro é criado, atualizado ou excluído.
+ * Em exclusões apenas o id é conhecido, e livro é nulo.
+ */
+public record LivroAlteradoEvento(Tipo tipo, Long id, Livro livro) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, EXCLUIDO }
+
+    public static LivroAlteradoEvento criado(Livro livro) {
+        return new LivroAlteradoEvento(Tipo.CRIADO, livro.getId(), livro);
+    }
+
+    public static LivroAlteradoEvento atualizado(Livro livro) {
+        return new LivroAlteradoEvento(Tipo.ATUALIZADO, livro.getId(), livro);
+    }
+
+    public static LivroAlteradoEvento excluido(Long id) {
+        return new LivroAlteradoEvento(Tipo.EXCLUIDO, id, null);
+    }
+}
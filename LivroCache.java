@@ -0,0 +1,130 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache em memória de livros por id, na frente de LivroRepository.findById (read-through).
+ * Usa o Caffeine, cuja política W-TinyLFU favorece os poucos livros muito acessados
+ * em cargas com distribuição assimétrica. O limite é por peso estimado em bytes, não por quantidade.
+ * Toda entrada expira um tempo fixo depois de gravada, para que escritas que não passam pela API
+ * (console do H2, outra instância) ou uma invalidação perdida não fiquem no cache indefinidamente.
+ */
+@Component
+public class LivroCache {
+
+    private final LivroRepository livroRepository;
+    private final Cache<Long, Livro> cache;
+
+    public LivroCache(LivroRepository livroRepository,
+                      @Value("${biblioteca.cache.livros.peso-maximo-bytes:67108864}") long pesoMaximoBytes,
+                      @Value("${biblioteca.cache.livros.expirar-apos-escrita:10m}") Duration expirarAposEscrita) {
+        this.livroRepository = livroRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximoBytes)
+                .weigher(LivroCache::estimarPeso)
+                .expireAfterWrite(expirarAposEscrita)
+                .recordStats()
+                .build();
+    }
+
+    // A carga é atômica por id no Caffeine: requisições concorrentes pelo mesmo id ausente esperam uma única
+    // consulta ao banco, e invalidar/atualizar esse id aguarda a carga terminar, então uma exclusão ou escrita
+    // concorrente nunca é sobrescrita pelo livro lido antes dela. Livros inexistentes não são guardados.
+    public Optional<Livro> buscar(Long id) {
+        return Optional.ofNullable(cache.get(id, chave -> livroRepository.findById(chave).orElse(null)));
+    }
+
+    // Versão atual do livro sem carregá-lo: vem do cache quando ele está lá, senão de uma consulta
+    // só da coluna versao (que não coloca o livro no cache). Vazio quando o livro não existe.
+    public Optional<Long> buscarVersao(Long id) {
+        Livro emCache = cache.getIfPresent(id);
+        if (emCache != null) {
+            return Optional.of(emCache.getVersao());
+        }
+        return livroRepository.buscarVersao(id);
+    }
+
+    // Busca vários livros de uma vez: o que já está no cache é servido dele e o restante
+    // é carregado com uma única consulta (IN) ao banco. Ids inexistentes ficam fora do mapa.
+    // Os livros dessa consulta não entram no cache: a gravação em lote do Caffeine não espera
+    // invalidações concorrentes, e um livro excluído entre a consulta e a gravação ficaria no cache.
+    public Map<Long, Livro> buscarVarios(Collection<Long> ids) {
+        Map<Long, Livro> encontrados = new HashMap<>(cache.getAllPresent(ids));
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : ids) {
+            if (!encontrados.containsKey(id)) {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (Livro livro : livroRepository.findAllById(faltantes)) {
+                encontrados.put(livro.getId(), livro);
+            }
+        }
+        return encontrados;
+    }
+
+    // Chamado pelos caminhos de escrita após o commit. Escritas concorrentes podem chegar aqui fora da ordem dos
+    // commits, então só uma versão mais nova substitui a do cache. E só substitui: um livro ausente (nunca lido,
+    // despejado ou já excluído) não é recolocado, senão uma escrita que termina depois de uma exclusão o
+    // ressuscitaria. A próxima leitura o carrega do banco.
+    public void atualizar(Livro livro) {
+        if (livro.getVersao() == null) {
+            cache.invalidate(livro.getId());
+            return;
+        }
+        cache.asMap().computeIfPresent(livro.getId(), (id, atual) ->
+                atual.getVersao() == null || livro.getVersao() > atual.getVersao() ? livro : atual);
+    }
+
+    public void invalidar(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidarVarios(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public Map<String, Object> estatisticas() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("acertos", stats.hitCount());
+        resultado.put("faltas", stats.missCount());
+        resultado.put("taxaAcerto", stats.hitRate());
+        resultado.put("despejos", stats.evictionCount());
+        resultado.put("pesoDespejado", stats.evictionWeight());
+        resultado.put("entradas", cache.estimatedSize());
+        resultado.put("carregamentosBanco", stats.loadCount());
+        cache.policy().eviction().ifPresent(eviction -> {
+            resultado.put("pesoAtualBytes", eviction.weightedSize().orElse(0L));
+            resultado.put("pesoMaximoBytes", eviction.getMaximum());
+        });
+        cache.policy().expireAfterWrite().ifPresent(expiracao ->
+                resultado.put("expirarAposEscritaSegundos", expiracao.getExpiresAfter().toSeconds()));
+        return resultado;
+    }
+
+    // Estimativa aproximada do tamanho do livro em memória: cabeçalhos dos objetos + caracteres das strings
+    private static int estimarPeso(Long id, Livro livro) {
+        return 96 + 2 * (tamanho(livro.getTitulo()) + tamanho(livro.getAutor()) + tamanho(livro.getIsbn()));
+    }
+
+    private static int tamanho(String valor) {
+        return valor == null ? 0 : valor.length();
+    }
+}
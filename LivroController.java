@@ -1,37 +1,145 @@
 package com.biblioteca.biblioteca_api.controller;
 
+import com.biblioteca.biblioteca_api.dto.CursorPaginacao;
+import com.biblioteca.biblioteca_api.dto.PaginaAlteracoes;
+import com.biblioteca.biblioteca_api.dto.PaginaLivros;
+import com.biblioteca.biblioteca_api.dto.ResultadoBusca;
+import com.biblioteca.biblioteca_api.dto.ResultadoBuscaMultipla;
+import com.biblioteca.biblioteca_api.dto.ResultadoExclusaoLote;
+import com.biblioteca.biblioteca_api.dto.ResultadoFacetas;
+import com.biblioteca.biblioteca_api.dto.ResultadoLote;
 import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.CampoOrdenacao;
+import com.biblioteca.biblioteca_api.repository.LivroEspecificacoes;
 import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.service.FeedAlteracoes;
+import com.biblioteca.biblioteca_api.service.FiltroBloomLivros;
+import com.biblioteca.biblioteca_api.service.IndiceAutocompletar;
+import com.biblioteca.biblioteca_api.service.IndiceBuscaTextual;
+import com.biblioteca.biblioteca_api.service.IndiceFacetas;
+import com.biblioteca.biblioteca_api.service.IndiceIsbn;
+import com.biblioteca.biblioteca_api.service.LivroAlteradoEvento;
+import com.biblioteca.biblioteca_api.service.LivroCache;
+import com.biblioteca.biblioteca_api.service.LivroExportacaoService;
+import com.biblioteca.biblioteca_api.service.LivroImportacaoService;
+import com.biblioteca.biblioteca_api.service.LivroJsonCache;
+import com.biblioteca.biblioteca_api.service.LivroValidador;
+import com.biblioteca.biblioteca_api.service.OutboxLivros;
+import com.biblioteca.biblioteca_api.service.RegistroAlteracoes;
+import com.biblioteca.biblioteca_api.service.VersaoCatalogo;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.Year;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/livros") // Rota base sugerida
 public class LivroController {
 
+    // Token da sincronização incremental correspondente à cópia devolvida por GET /api/livros/export
+    static final String CABECALHO_TOKEN_SINCRONIZACAO = "X-Token-Sincronizacao";
+
     // Injeção de dependência do Repository
     private final LivroRepository livroRepository;
+    private final LivroExportacaoService livroExportacaoService;
+    private final LivroCache livroCache;
+    // JSON já serializado dos livros, servido por GET /api/livros/{id}
+    private final LivroJsonCache livroJsonCache;
+    private final LivroValidador livroValidador;
+    private final LivroImportacaoService livroImportacaoService;
+    private final IndiceBuscaTextual indiceBuscaTextual;
+    private final IndiceAutocompletar indiceAutocompletar;
+    private final IndiceIsbn indiceIsbn;
+    private final IndiceFacetas indiceFacetas;
+    // Responde "não existe" sem ir ao banco quando o id ou ISBN certamente não está no catálogo
+    private final FiltroBloomLivros filtroBloom;
+    // Contador de alterações do catálogo, que serve de ETag para as páginas da listagem
+    private final VersaoCatalogo versaoCatalogo;
+    // Registro de alterações consultado pela sincronização incremental
+    private final RegistroAlteracoes registroAlteracoes;
+    // Assinantes do feed de alterações em SSE
+    private final FeedAlteracoes feedAlteracoes;
+    // Publica LivroAlteradoEvento para manter os índices em memória em dia
+    private final OutboxLivros outboxLivros;
+    // Cada escrita e o evento correspondente no outbox são confirmados na mesma transação
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Tamanho de página usado quando o cliente não informa e limite máximo aceito na listagem
+    private final int tamanhoPaginaPadrao;
+    private final int tamanhoPaginaMaximo;
+    // Quantidade máxima de ids aceitos em uma busca múltipla
+    private final int maximoIdsBuscaMultipla;
+    // Quantidade máxima de ids aceitos em uma exclusão em lote
+    private final int maximoIdsExclusaoLote;
 
     @Autowired
-    public LivroController(LivroRepository livroRepository) {
+    public LivroController(LivroRepository livroRepository,
+                           LivroExportacaoService livroExportacaoService,
+                           LivroCache livroCache,
+                           LivroJsonCache livroJsonCache,
+                           LivroValidador livroValidador,
+                           LivroImportacaoService livroImportacaoService,
+                           IndiceBuscaTextual indiceBuscaTextual,
+                           IndiceAutocompletar indiceAutocompletar,
+                           IndiceIsbn indiceIsbn,
+                           IndiceFacetas indiceFacetas,
+                           FiltroBloomLivros filtroBloom,
+                           VersaoCatalogo versaoCatalogo,
+                           RegistroAlteracoes registroAlteracoes,
+                           FeedAlteracoes feedAlteracoes,
+                           OutboxLivros outboxLivros,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${biblioteca.paginacao.tamanho-padrao:50}") int tamanhoPaginaPadrao,
+                           @Value("${biblioteca.paginacao.tamanho-maximo:500}") int tamanhoPaginaMaximo,
+                           @Value("${biblioteca.busca-multipla.maximo-ids:500}") int maximoIdsBuscaMultipla,
+                           @Value("${biblioteca.exclusao-lote.maximo-ids:1000}") int maximoIdsExclusaoLote) {
         this.livroRepository = livroRepository;
-    }
-
-    // Lógica de Negócio: Validação do Ano de Publicação
-    private void validarAnoPublicacao(Integer ano) {
-        int anoAtual = Year.now().getValue();
-        if (ano == null || ano > anoAtual) {
-            // Lança exceção que será mapeada para uma resposta HTTP 400 Bad Request
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "O ano de publicação (" + ano + ") não pode ser nulo ou futuro.");
-        }
+        this.livroExportacaoService = livroExportacaoService;
+        this.livroCache = livroCache;
+        this.livroJsonCache = livroJsonCache;
+        this.livroValidador = livroValidador;
+        this.livroImportacaoService = livroImportacaoService;
+        this.indiceBuscaTextual = indiceBuscaTextual;
+        this.indiceAutocompletar = indiceAutocompletar;
+        this.indiceIsbn = indiceIsbn;
+        this.indiceFacetas = indiceFacetas;
+        this.filtroBloom = filtroBloom;
+        this.versaoCatalogo = versaoCatalogo;
+        this.registroAlteracoes = registroAlteracoes;
+        this.feedAlteracoes = feedAlteracoes;
+        this.outboxLivros = outboxLivros;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoPaginaPadrao = tamanhoPaginaPadrao;
+        this.tamanhoPaginaMaximo = tamanhoPaginaMaximo;
+        this.maximoIdsBuscaMultipla = maximoIdsBuscaMultipla;
+        this.maximoIdsExclusaoLote = maximoIdsExclusaoLote;
     }
 
     // --- 1. CRIAR (Create) ---
@@ -39,43 +147,367 @@ public class LivroController {
     @PostMapping
     public ResponseEntity<Livro> criarLivro(@Valid @RequestBody Livro livro) {
         // Lógica de Negócio: Validação do ano (além das validações de Bean Validation)
-        validarAnoPublicacao(livro.getAnoPublicacao());
+        livroValidador.validarAnoPublicacao(livro.getAnoPublicacao());
+        // Lógica de Negócio: ISBN na forma canônica e sem duplicidade (verificada no mapa em memória)
+        livro.setIsbn(livroValidador.normalizarIsbn(livro.getIsbn()));
+        verificarIsbnDisponivel(livro.getIsbn(), null);
 
         // Regra de Aplicação: Garantir que ID seja nulo na criação para que o DB gere
+        // (e a versão também, que começa em 0 no primeiro INSERT)
         livro.setId(null);
+        livro.setVersao(null);
 
-        Livro novoLivro = livroRepository.save(livro);
-        return new ResponseEntity<>(novoLivro, HttpStatus.CREATED);
+        Livro novoLivro;
+        try {
+            novoLivro = transactionTemplate.execute(status -> {
+                Livro salvo = livroRepository.save(livro);
+                outboxLivros.registrar(LivroAlteradoEvento.criado(salvo));
+                return salvo;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição gravou o mesmo ISBN entre a verificação e o INSERT
+            throw conflitoIsbnOu(e, livro.getIsbn());
+        }
+        eventPublisher.publishEvent(LivroAlteradoEvento.criado(novoLivro));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(etag(novoLivro)).body(novoLivro);
+    }
+
+    // --- 1.1 CRIAR EM LOTE (Bulk create) ---
+    // POST /api/livros/lote  (array JSON ou NDJSON)
+    // Valida cada item e grava em blocos transacionais; devolve o resultado de cada item.
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResultadoLote criarEmLote(InputStream corpo) {
+        return livroImportacaoService.importar(corpo);
     }
 
     // --- 2. LER TODOS (Read All) ---
-    // GET /api/livros
+    // GET /api/livros?cursor=...&tamanho=...
+    //     &autor=...&anoMin=...&anoMax=...&disponivel=...&ordenar=id|titulo|anoPublicacao&direcao=asc|desc
+    // Paginação por cursor: cada página é uma varredura por faixa em um índice (o do id, ou o composto
+    // que cobre os filtros), em vez de materializar a tabela inteira em memória com findAll().
+    // A ETag é a do catálogo inteiro: com If-None-Match igual, responde 304 sem consultar o banco.
     @GetMapping
-    public List<Livro> listarTodos() {
-        return livroRepository.findAll();
+    public ResponseEntity<PaginaLivros> listarTodos(@RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer tamanho,
+                                    @RequestParam(required = false) String autor,
+                                    @RequestParam(required = false) Integer anoMin,
+                                    @RequestParam(required = false) Integer anoMax,
+                                    @RequestParam(required = false) Boolean disponivel,
+                                    @RequestParam(defaultValue = "id") String ordenar,
+                                    @RequestParam(defaultValue = "asc") String direcao,
+                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int tamanhoPagina = resolverTamanhoPagina(tamanho);
+        if (anoMin != null && anoMax != null && anoMin > anoMax) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "anoMin não pode ser maior que anoMax.");
+        }
+        CampoOrdenacao campo = resolverCampoOrdenacao(ordenar);
+        Sort.Direction sentido = resolverDirecao(direcao);
+        String ordenacao = campo.getAtributo() + "," + sentido.name().toLowerCase();
+        CursorPaginacao.Posicao posicao = decodificarCursor(cursor, campo, ordenacao);
+        String etag = versaoCatalogo.etag();
+        if (correspondeIfNoneMatch(ifNoneMatch, etag)) {
+            return naoModificado(etag);
+        }
+
+        // Busca um item a mais para saber se existe uma próxima página
+        List<Livro> livros;
+        if (autor == null && anoMin == null && anoMax == null && disponivel == null && "id,asc".equals(ordenacao)) {
+            livros = livroRepository.findByIdGreaterThanOrderByIdAsc(
+                    posicao == null ? 0L : posicao.id(), Limit.of(tamanhoPagina + 1));
+        } else {
+            Specification<Livro> especificacao = LivroEspecificacoes.filtrar(autor, anoMin, anoMax, disponivel);
+            if (posicao != null) {
+                especificacao = especificacao.and(
+                        LivroEspecificacoes.depoisDe(campo, sentido, posicao.valor(), posicao.id()));
+            }
+            livros = livroRepository.buscarPagina(especificacao,
+                    LivroEspecificacoes.ordenacao(campo, sentido), tamanhoPagina + 1);
+        }
+        if (livros.size() <= tamanhoPagina) {
+            return ResponseEntity.ok().eTag(etag).body(new PaginaLivros(livros, null));
+        }
+
+        List<Livro> pagina = livros.subList(0, tamanhoPagina);
+        Livro ultimo = pagina.get(pagina.size() - 1);
+        String proximoCursor = CursorPaginacao.codificar(ordenacao, campo.valorDe(ultimo), ultimo.getId());
+        return ResponseEntity.ok().eTag(etag).body(new PaginaLivros(pagina, proximoCursor));
+    }
+
+    private int resolverTamanhoPagina(Integer tamanho) {
+        if (tamanho == null) {
+            return tamanhoPaginaPadrao;
+        }
+        if (tamanho < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O tamanho da página deve ser um número positivo.");
+        }
+        // Limite rígido: o cliente nunca consegue pedir uma página maior que o máximo configurado
+        return Math.min(tamanho, tamanhoPaginaMaximo);
+    }
+
+    private CampoOrdenacao resolverCampoOrdenacao(String ordenar) {
+        try {
+            return CampoOrdenacao.doAtributo(ordenar);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Ordenação não suportada: " + ordenar + ". Use 'id', 'titulo' ou 'anoPublicacao'.");
+        }
+    }
+
+    private Sort.Direction resolverDirecao(String direcao) {
+        return Sort.Direction.fromOptionalString(direcao)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Direção de ordenação inválida: " + direcao + ". Use 'asc' ou 'desc'."));
+    }
+
+    // Nulo quando não há cursor (primeira página); o cursor só vale para a ordenação em que foi gerado
+    private CursorPaginacao.Posicao decodificarCursor(String cursor, CampoOrdenacao campo, String ordenacao) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        CursorPaginacao.Posicao posicao;
+        try {
+            posicao = CursorPaginacao.decodificar(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido.");
+        }
+        if (!posicao.ordenacao().equals(ordenacao)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O cursor foi gerado para outra ordenação (" + posicao.ordenacao() + ").");
+        }
+        try {
+            campo.converter(posicao.valor());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido.");
+        }
+        return posicao;
+    }
+
+    // --- 2.1 LER VÁRIOS POR ID (Multi-get) ---
+    // GET /api/livros?ids=1,2,3
+    // Resolve todos os ids com uma requisição HTTP e no máximo uma consulta ao banco.
+    @GetMapping(params = "ids")
+    public ResultadoBuscaMultipla buscarVarios(@RequestParam List<Long> ids) {
+        // Remove repetidos mantendo a ordem em que os ids foram pedidos
+        Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+        idsUnicos.remove(null);
+        if (idsUnicos.size() > maximoIdsBuscaMultipla) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A busca múltipla aceita no máximo " + maximoIdsBuscaMultipla + " ids.");
+        }
+
+        // Ids que certamente não existem nem entram no IN (...)
+        Set<Long> candidatos = new LinkedHashSet<>();
+        for (Long id : idsUnicos) {
+            if (filtroBloom.talvezExistaId(id)) {
+                candidatos.add(id);
+            }
+        }
+
+        Map<Long, Livro> encontrados = candidatos.isEmpty() ? Map.of() : livroCache.buscarVarios(candidatos);
+        List<Livro> livros = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : idsUnicos) {
+            Livro livro = encontrados.get(id);
+            if (livro != null) {
+                livros.add(livro);
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new ResultadoBuscaMultipla(livros, naoEncontrados);
+    }
+
+    // --- 2.2 BUSCA TEXTUAL (Full-text search) ---
+    // GET /api/livros/busca?q=...&limite=10
+    // Consulta o índice invertido em memória (titulo e autor, sem acentos, ranqueado por BM25)
+    // e carrega apenas os livros do resultado.
+    @GetMapping("/busca")
+    public List<ResultadoBusca> buscarPorTexto(@RequestParam String q,
+                                               @RequestParam(defaultValue = "10") int limite) {
+        int k = Math.max(1, Math.min(limite, tamanhoPaginaMaximo));
+        List<IndiceBuscaTextual.Resultado> encontrados = indiceBuscaTextual.buscar(q, k);
+
+        List<Long> ids = encontrados.stream().map(IndiceBuscaTextual.Resultado::id).toList();
+        Map<Long, Livro> livros = livroCache.buscarVarios(ids);
+        List<ResultadoBusca> resultado = new ArrayList<>(encontrados.size());
+        for (IndiceBuscaTextual.Resultado encontrado : encontrados) {
+            Livro livro = livros.get(encontrado.id());
+            // O índice pode estar um instante à frente do banco; livros já removidos são ignorados
+            if (livro != null) {
+                resultado.add(new ResultadoBusca(livro, encontrado.pontuacao()));
+            }
+        }
+        return resultado;
+    }
+
+    // --- 2.3 AUTOCOMPLETAR (Prefix autocomplete) ---
+    // GET /api/livros/autocompletar?prefixo=...&limite=10
+    // Responde só com a árvore de prefixos em memória, sem acessar o banco.
+    @GetMapping("/autocompletar")
+    public List<IndiceAutocompletar.Sugestao> autocompletar(@RequestParam String prefixo,
+                                                           @RequestParam(defaultValue = "10") int limite) {
+        return indiceAutocompletar.sugerir(prefixo, Math.max(1, Math.min(limite, 50)));
+    }
+
+    // --- 2.4 EXPORTAR (Export) ---
+    // GET /api/livros/export?formato=ndjson|csv
+    // Escreve o catálogo completo em fluxo, linha a linha, sem montar a lista inteira em memória.
+    // O cabeçalho X-Token-Sincronizacao traz o token lido antes de a leitura começar: toda alteração até ele
+    // já está na cópia, e as seguintes vêm de GET /api/livros/alteracoes?desde=<token> (algumas podem já estar
+    // na cópia; reaplicá-las não muda o resultado).
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        String token = Long.toString(registroAlteracoes.tokenAtual());
+        switch (formato.toLowerCase()) {
+            case "ndjson":
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(CABECALHO_TOKEN_SINCRONIZACAO, token)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"livros.ndjson\"")
+                        .body(livroExportacaoService::exportarNdjson);
+            case "csv":
+                return ResponseEntity.ok()
+                        .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                        .header(CABECALHO_TOKEN_SINCRONIZACAO, token)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"livros.csv\"")
+                        .body(livroExportacaoService::exportarCsv);
+            default:
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Formato de exportação não suportado: " + formato + ". Use 'ndjson' ou 'csv'.");
+        }
+    }
+
+    // --- 2.5 FACETAS (Facet counts) ---
+    // GET /api/livros/facetas?autor=...&decada=1990&disponivel=true&limiteAutores=20
+    // Contagens por autor, década e disponibilidade calculadas nos bitmaps em memória, sem GROUP BY no banco.
+    @GetMapping("/facetas")
+    public ResultadoFacetas facetas(@RequestParam(required = false) String autor,
+                                    @RequestParam(required = false) Integer decada,
+                                    @RequestParam(required = false) Boolean disponivel,
+                                    @RequestParam(defaultValue = "20") int limiteAutores) {
+        return indiceFacetas.contar(autor, decada == null ? null : IndiceFacetas.decada(decada), disponivel,
+                Math.max(1, Math.min(limiteAutores, 200)));
+    }
+
+    // --- 2.6 SINCRONIZAR (Delta sync) ---
+    // GET /api/livros/alteracoes?desde=<token>&tamanho=...
+    // Criações, atualizações e exclusões (lápides) posteriores ao token, em ordem; o custo é proporcional
+    // ao número de alterações, não ao tamanho do catálogo. A cópia inicial usa o token do cabeçalho
+    // X-Token-Sincronizacao do export. Sem "desde", devolve só o token atual, que só serve para uma cópia
+    // baixada depois dele: obtido após o export, pularia as alterações feitas entre os dois.
+    // 410 (Gone) quando o token expirou pela retenção: a cópia precisa ser refeita.
+    @GetMapping("/alteracoes")
+    public PaginaAlteracoes alteracoes(@RequestParam(required = false) Long desde,
+                                       @RequestParam(required = false) Integer tamanho) {
+        if (desde == null) {
+            return new PaginaAlteracoes(List.of(), registroAlteracoes.tokenAtual(), false);
+        }
+        return registroAlteracoes.listarDesde(desde, resolverTamanhoPagina(tamanho));
+    }
+
+    // --- 2.7 FEED DE ALTERAÇÕES (Server-Sent Events) ---
+    // GET /api/livros/alteracoes/feed  (Accept: text/event-stream)
+    // Cada alteração chega como um evento "alteracao" com id = sequência, no mesmo formato da sincronização.
+    // Ao reconectar, o EventSource envia Last-Event-ID e o feed repõe o que foi perdido antes de seguir;
+    // "desde" faz o mesmo para clientes que guardam o token por conta própria.
+    @GetMapping(value = "/alteracoes/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feedAlteracoes(@RequestParam(required = false) Long desde,
+                                     @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento) {
+        return feedAlteracoes.assinar(ultimoEvento != null ? ultimoEvento : desde);
     }
 
     // --- 3. LER POR ID (Read by ID) ---
     // GET /api/livros/{id}
     @GetMapping("/{id}")
-    public ResponseEntity<Livro> buscarPorId(@PathVariable Long id) {
-        // Lógica de Negócio: Verifica se o livro existe
-        return livroRepository.findById(id)
-                .map(livro -> new ResponseEntity<>(livro, HttpStatus.OK))
+    public ResponseEntity<byte[]> buscarPorId(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Lógica de Negócio: Verifica se o livro existe (filtro de Bloom, depois cache, depois banco)
+        if (!filtroBloom.talvezExistaId(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Livro com ID " + id + " não encontrado.");
+        }
+        // Revalidação: basta a versão (do cache, ou só a coluna no banco) para decidir o 304
+        if (ifNoneMatch != null) {
+            String etag = livroCache.buscarVersao(id).map(LivroController::etag)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                            "Livro com ID " + id + " não encontrado."));
+            if (correspondeIfNoneMatch(ifNoneMatch, etag)) {
+                return naoModificado(etag);
+            }
+        }
+        // O corpo é o JSON em cache para esta versão do livro, copiado direto para a resposta (sem Jackson)
+        return livroCache.buscar(id)
+                .map(livro -> ResponseEntity.ok()
+                        .eTag(etag(livro))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(livroJsonCache.serializar(livro)))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Livro com ID " + id + " não encontrado."));
     }
 
+    // --- 3.1 LER POR ISBN (Read by ISBN) ---
+    // GET /api/livros/isbn/{isbn}  (ISBN-10 ou ISBN-13, com ou sem hífens)
+    @GetMapping("/isbn/{isbn}")
+    public ResponseEntity<Livro> buscarPorIsbn(@PathVariable String isbn) {
+        String isbnCanonico = livroValidador.normalizarIsbn(isbn);
+        // O mapa em memória resolve o id sem consulta; o banco (pelo índice único) é só o fallback,
+        // e nem ele é consultado se o filtro de Bloom garante que o ISBN não existe
+        if (!filtroBloom.talvezExistaIsbn(isbnCanonico)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Livro com ISBN " + isbnCanonico + " não encontrado.");
+        }
+        return indiceIsbn.buscarId(isbnCanonico)
+                .flatMap(livroCache::buscar)
+                .or(() -> livroRepository.findByIsbn(isbnCanonico))
+                .map(livro -> ResponseEntity.ok().eTag(etag(livro)).body(livro))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Livro com ISBN " + isbnCanonico + " não encontrado."));
+    }
+
     // --- 4. ATUALIZAR (Update) ---
     // PUT /api/livros/{id}
     // Implementação PUT (Atualização completa)
+    // Com If-Match: um único UPDATE condicionado à versão (412 se o livro mudou desde a leitura).
+    // Sem If-Match: lê, aplica e salva; o @Version ainda impede que uma atualização concorrente seja perdida.
     @PutMapping("/{id}")
-    public ResponseEntity<Livro> atualizarLivro(@PathVariable Long id, @Valid @RequestBody Livro livroAtualizado) {
+    public ResponseEntity<Livro> atualizarLivro(@PathVariable Long id, @Valid @RequestBody Livro livroAtualizado,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long versaoEsperada = versaoDoIfMatch(ifMatch);
+        livroAtualizado.setIsbn(livroValidador.normalizarIsbn(livroAtualizado.getIsbn()));
+        verificarIsbnDisponivel(livroAtualizado.getIsbn(), id);
+        if (versaoEsperada != null) {
+            livroValidador.validarAnoPublicacao(livroAtualizado.getAnoPublicacao());
+
+            boolean alterado;
+            try {
+                alterado = transactionTemplate.execute(status -> {
+                    if (livroRepository.atualizarSeVersao(id, versaoEsperada,
+                            livroAtualizado.getTitulo(), livroAtualizado.getAutor(), livroAtualizado.getIsbn(),
+                            livroAtualizado.getAnoPublicacao(), livroAtualizado.isDisponivel()) == 0) {
+                        return false;
+                    }
+                    // O estado final é conhecido sem reler o banco: os campos do corpo mais a nova versão
+                    livroAtualizado.setId(id);
+                    livroAtualizado.setVersao(versaoEsperada + 1);
+                    outboxLivros.registrar(LivroAlteradoEvento.atualizado(livroAtualizado));
+                    return true;
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw conflitoIsbnOu(e, livroAtualizado.getIsbn());
+            }
+            if (!alterado) {
+                throw falhaAtualizacaoCondicional(id);
+            }
+
+            livroCache.atualizar(livroAtualizado);
+            eventPublisher.publishEvent(LivroAlteradoEvento.atualizado(livroAtualizado));
+            return ResponseEntity.ok().eTag(etag(livroAtualizado)).body(livroAtualizado);
+        }
+
         // Lógica de Negócio: 1. Verifica a existência do livro
         return livroRepository.findById(id)
                 .map(livroExistente -> {
                     // Lógica de Negócio: 2. Validações de dados
-                    validarAnoPublicacao(livroAtualizado.getAnoPublicacao());
+                    livroValidador.validarAnoPublicacao(livroAtualizado.getAnoPublicacao());
 
                     // Aplica as atualizações no objeto existente
                     livroExistente.setTitulo(livroAtualizado.getTitulo());
@@ -84,9 +516,11 @@ public class LivroController {
                     livroExistente.setAnoPublicacao(livroAtualizado.getAnoPublicacao());
                     livroExistente.setDisponivel(livroAtualizado.isDisponivel());
 
-                    // Salva e retorna o livro atualizado
-                    Livro salvo = livroRepository.save(livroExistente);
-                    return new ResponseEntity<>(salvo, HttpStatus.OK);
+                    // Salva, atualiza o cache e retorna o livro atualizado
+                    Livro salvo = salvarComVersao(livroExistente);
+                    livroCache.atualizar(salvo);
+                    eventPublisher.publishEvent(LivroAlteradoEvento.atualizado(salvo));
+                    return ResponseEntity.ok().eTag(etag(salvo)).body(salvo);
                 })
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Livro com ID " + id + " não pode ser atualizado: não encontrado."));
@@ -95,7 +529,45 @@ public class LivroController {
     // Opcional: Implementação PATCH (Atualização parcial)
     // Opcionalmente, pode-se usar PATCH para permitir a atualização de campos específicos
     @PatchMapping("/{id}")
-    public ResponseEntity<Livro> atualizarParcialmente(@PathVariable Long id, @RequestBody Livro livroParcial) {
+    public ResponseEntity<Livro> atualizarParcialmente(@PathVariable Long id, @RequestBody Livro livroParcial,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (livroParcial.getAnoPublicacao() != null) {
+            livroValidador.validarAnoPublicacao(livroParcial.getAnoPublicacao());
+        }
+        if (livroParcial.getIsbn() != null) {
+            livroParcial.setIsbn(livroValidador.normalizarIsbn(livroParcial.getIsbn()));
+            verificarIsbnDisponivel(livroParcial.getIsbn(), id);
+        }
+
+        Long versaoEsperada = versaoDoIfMatch(ifMatch);
+        if (versaoEsperada != null) {
+            // Campos ausentes (nulos) mantêm o valor atual, direto no UPDATE
+            Livro salvo;
+            try {
+                salvo = transactionTemplate.execute(status -> {
+                    if (livroRepository.atualizarParcialmenteSeVersao(id, versaoEsperada,
+                            livroParcial.getTitulo(), livroParcial.getAutor(), livroParcial.getIsbn(),
+                            livroParcial.getAnoPublicacao()) == 0) {
+                        return null;
+                    }
+                    // O livro completo só o banco conhece após a mesclagem dos campos; a leitura na mesma
+                    // transação garante que o evento do outbox traga exatamente o estado gravado
+                    Livro atual = livroRepository.buscarNoBanco(id).orElseThrow();
+                    outboxLivros.registrar(LivroAlteradoEvento.atualizado(atual));
+                    return atual;
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw conflitoIsbnOu(e, livroParcial.getIsbn());
+            }
+            if (salvo == null) {
+                throw falhaAtualizacaoCondicional(id);
+            }
+
+            livroCache.atualizar(salvo);
+            eventPublisher.publishEvent(LivroAlteradoEvento.atualizado(salvo));
+            return ResponseEntity.ok().eTag(etag(salvo)).body(salvo);
+        }
+
         return livroRepository.findById(id)
                 .map(livroExistente -> {
                     // Lógica de Negócio: Aplica atualizações somente se o campo for fornecido
@@ -109,7 +581,6 @@ public class LivroController {
                         livroExistente.setIsbn(livroParcial.getIsbn());
                     }
                     if (livroParcial.getAnoPublicacao() != null) {
-                        validarAnoPublicacao(livroParcial.getAnoPublicacao());
                         livroExistente.setAnoPublicacao(livroParcial.getAnoPublicacao());
                     }
                     // O booleano 'disponivel' pode ser atualizado via setter se estiver presente no JSON,
@@ -117,31 +588,174 @@ public class LivroController {
                     // para simplicidade, a implementação PUT é mais direta.
                     // Para booleanos, geralmente a operação PUT é preferida ou um endpoint específico (ex: /emprestimo/{id}).
 
-                    // Salva e retorna o livro atualizado
-                    Livro salvo = livroRepository.save(livroExistente);
-                    return new ResponseEntity<>(salvo, HttpStatus.OK);
+                    // Salva, atualiza o cache e retorna o livro atualizado
+                    Livro salvo = salvarComVersao(livroExistente);
+                    livroCache.atualizar(salvo);
+                    eventPublisher.publishEvent(LivroAlteradoEvento.atualizado(salvo));
+                    return ResponseEntity.ok().eTag(etag(salvo)).body(salvo);
                 })
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Livro com ID " + id + " não pode ser atualizado: não encontrado."));
     }
 
+    // Salva pelo caminho tradicional (leitura + merge); se outra requisição alterou o livro
+    // nesse intervalo, o @Version detecta e a atualização é recusada em vez de sobrescrita
+    private Livro salvarComVersao(Livro livro) {
+        try {
+            return transactionTemplate.execute(status -> {
+                // saveAndFlush: a verificação de versão acontece antes de o evento ir para o outbox
+                Livro salvo = livroRepository.saveAndFlush(livro);
+                outboxLivros.registrar(LivroAlteradoEvento.atualizado(salvo));
+                return salvo;
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            livroCache.invalidar(livro.getId());
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Livro com ID " + livro.getId() + " foi alterado por outra requisição. Tente novamente.");
+        } catch (DataIntegrityViolationException e) {
+            livroCache.invalidar(livro.getId());
+            throw conflitoIsbnOu(e, livro.getIsbn());
+        }
+    }
+
+    // Lógica de Negócio: um ISBN só pode pertencer a um livro (idAtual nulo na criação)
+    private void verificarIsbnDisponivel(String isbn, Long idAtual) {
+        if (indiceIsbn.pertenceAOutroLivro(isbn, idAtual)) {
+            throw isbnDuplicado(isbn);
+        }
+    }
+
+    private static ResponseStatusException isbnDuplicado(String isbn) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Já existe um livro com o ISBN " + isbn + ".");
+    }
+
+    // Só a violação do índice único do ISBN vira 409; as demais (coluna obrigatória, tamanho, outras
+    // restrições) seguem adiante como estão. O nome do índice vem do banco, às vezes com prefixo e sufixo
+    private static RuntimeException conflitoIsbnOu(DataIntegrityViolationException e, String isbn) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(Livro.INDICE_ISBN)) {
+                return isbnDuplicado(isbn);
+            }
+        }
+        return e;
+    }
+
+    // UPDATE condicional não alterou nenhuma linha: ou o livro não existe (404) ou a versão mudou (412)
+    private ResponseStatusException falhaAtualizacaoCondicional(Long id) {
+        if (!livroRepository.existsById(id)) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Livro com ID " + id + " não pode ser atualizado: não encontrado.");
+        }
+        livroCache.invalidar(id);
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "Livro com ID " + id + " foi alterado desde a última leitura (If-Match não confere).");
+    }
+
+    // ETag forte derivada da versão do livro
+    private static String etag(Livro livro) {
+        return etag(livro.getVersao());
+    }
+
+    private static String etag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    // If-None-Match aceita uma lista de ETags ou "*"; a comparação é fraca (ignora o prefixo W/)
+    private static boolean correspondeIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidata : ifNoneMatch.split(",")) {
+            String valor = candidata.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    // Extrai a versão esperada do cabeçalho If-Match; nulo quando ausente ou "*" (qualquer versão)
+    private static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Cabeçalho If-Match inválido.");
+        }
+        try {
+            return Long.parseLong(valor.substring(1, valor.length() - 1));
+        } catch (NumberFormatException e) {
+            // Uma ETag que não foi gerada por esta API nunca corresponde à versão atual
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Cabeçalho If-Match inválido.");
+        }
+    }
+
     // --- 5. EXCLUIR (Delete) ---
     // DELETE /api/livros/{id}
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> excluirLivro(@PathVariable Long id) {
-        // Lógica de Negócio: Verifica a existência antes de tentar excluir
-        if (!livroRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-                    "Livro com ID " + id + " não pode ser excluído: não encontrado.");
-        }
-
         // Lógica de Negócio (Exemplo de Regra): Poderia verificar se o livro está emprestado antes de excluir.
         // if (livroRepository.findById(id).get().isDisponivel() == false) {
         //    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Livro emprestado não pode ser excluído.");
         // }
 
-        livroRepository.deleteById(id);
+        // Um único DELETE: se nenhuma linha foi afetada, o livro não existia (e nada vai para o outbox)
+        boolean excluido = transactionTemplate.execute(status -> {
+            if (livroRepository.excluirPorId(id) == 0) {
+                return false;
+            }
+            outboxLivros.registrar(LivroAlteradoEvento.excluido(id));
+            return true;
+        });
+        if (!excluido) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Livro com ID " + id + " não pode ser excluído: não encontrado.");
+        }
+        livroCache.invalidar(id);
+        eventPublisher.publishEvent(LivroAlteradoEvento.excluido(id));
         // Retorna status 204 No Content para indicar sucesso na exclusão
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    // --- 5.1 EXCLUIR EM LOTE (Bulk delete) ---
+    // DELETE /api/livros?ids=1,2,3
+    // Bloqueia os ids que existem e os remove com um único DELETE ... WHERE id IN (...); ids inexistentes
+    // são ignorados e não geram eventos.
+    @DeleteMapping(params = "ids")
+    public ResultadoExclusaoLote excluirEmLote(@RequestParam List<Long> ids) {
+        Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+        idsUnicos.remove(null);
+        if (idsUnicos.size() > maximoIdsExclusaoLote) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A exclusão em lote aceita no máximo " + maximoIdsExclusaoLote + " ids.");
+        }
+        if (idsUnicos.isEmpty()) {
+            return new ResultadoExclusaoLote(0, 0);
+        }
+
+        // Os eventos saem só dos ids que existiam: eles são bloqueados antes do DELETE, então nenhum
+        // é excluído por outra transação entre a leitura e o DELETE
+        List<LivroAlteradoEvento> eventos = transactionTemplate.execute(status -> {
+            List<Long> existentes = livroRepository.bloquearExistentes(idsUnicos);
+            if (existentes.isEmpty()) {
+                return List.of();
+            }
+            livroRepository.excluirPorIds(existentes);
+            List<LivroAlteradoEvento> excluidos = existentes.stream().map(LivroAlteradoEvento::excluido).toList();
+            outboxLivros.registrarVarios(excluidos);
+            return excluidos;
+        });
+        livroCache.invalidarVarios(idsUnicos);
+        eventos.forEach(eventPublisher::publishEvent);
+        return new ResultadoExclusaoLote(idsUnicos.size(), eventos.size());
+    }
 }
\ No newline at end of file
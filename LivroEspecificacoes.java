@@ -0,0 +1,67 @@
+package com.biblioteca.biblioteca_api.repository;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros dinâmicos da listagem de livros (GET /api/livros), combinados conforme os parâmetros recebidos.
+ * Cada combinação de filtros é coberta por um dos índices declarados em Livro.
+ */
+public final class LivroEspecificacoes {
+
+    private LivroEspecificacoes() {
+    }
+
+    // Filtros nulos são ignorados
+    public static Specification<Livro> filtrar(String autor, Integer anoMinimo, Integer anoMaximo, Boolean disponivel) {
+        Specification<Livro> especificacao = Specification.unrestricted();
+        if (autor != null) {
+            especificacao = especificacao.and((root, query, cb) -> cb.equal(root.get("autor"), autor));
+        }
+        if (disponivel != null) {
+            especificacao = especificacao.and((root, query, cb) -> cb.equal(root.get("disponivel"), disponivel));
+        }
+        if (anoMinimo != null) {
+            especificacao = especificacao.and((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("anoPublicacao"), anoMinimo));
+        }
+        if (anoMaximo != null) {
+            especificacao = especificacao.and((root, query, cb) ->
+                    cb.lessThanOrEqualTo(root.get("anoPublicacao"), anoMaximo));
+        }
+        return especificacao;
+    }
+
+    // Keyset: livros depois de (valor, id) na ordenação informada.
+    // Escrito como "campo >= valor and (campo > valor or id > ultimoId)" para que o banco use
+    // uma faixa do índice do campo, o que não acontece com a forma equivalente só com OR.
+    public static Specification<Livro> depoisDe(CampoOrdenacao campo, Sort.Direction direcao,
+                                                String valor, Long ultimoId) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idDepois = direcao.isAscending() ? cb.greaterThan(id, ultimoId) : cb.lessThan(id, ultimoId);
+            if (campo == CampoOrdenacao.ID) {
+                return idDepois;
+            }
+            return depoisDe(root.get(campo.getAtributo()), campo.converter(valor), direcao, idDepois, cb);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate depoisDe(Path caminho, Comparable valor, Sort.Direction direcao, Predicate idDepois,
+                                      CriteriaBuilder cb) {
+        if (direcao.isAscending()) {
+            return cb.and(cb.greaterThanOrEqualTo(caminho, valor), cb.or(cb.greaterThan(caminho, valor), idDepois));
+        }
+        return cb.and(cb.lessThanOrEqualTo(caminho, valor), cb.or(cb.lessThan(caminho, valor), idDepois));
+    }
+
+    public static Sort ordenacao(CampoOrdenacao campo, Sort.Direction direcao) {
+        Sort porId = Sort.by(direcao, "id");
+        return campo == CampoOrdenacao.ID ? porId : Sort.by(direcao, campo.getAtributo()).and(porId);
+    }
+}
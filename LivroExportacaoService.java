@@ -0,0 +1,98 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Exporta o catálogo completo de livros escrevendo cada linha na saída assim que ela é lida do banco.
+ * O consumo de memória é constante, independente do tamanho do catálogo.
+ */
+@Service
+public class LivroExportacaoService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final LivroRepository livroRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public LivroExportacaoService(LivroRepository livroRepository, EntityManager entityManager,
+                                  ObjectMapper objectMapper) {
+        this.livroRepository = livroRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // NDJSON: um objeto JSON por linha
+    @Transactional(readOnly = true)
+    public void exportarNdjson(OutputStream saida) throws IOException {
+        OutputStream buffer = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+        naoGravarNoCacheSegundoNivel();
+        try (Stream<Livro> livros = livroRepository.streamTodosOrdenadosPorId()) {
+            for (Livro livro : (Iterable<Livro>) livros::iterator) {
+                buffer.write(objectMapper.writeValueAsBytes(livro));
+                buffer.write('\n');
+                // Remove a entidade do contexto de persistência para que ele não cresça a cada linha
+                entityManager.detach(livro);
+            }
+        }
+        buffer.flush();
+    }
+
+    // CSV com cabeçalho, no formato RFC 4180
+    @Transactional(readOnly = true)
+    public void exportarCsv(OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        writer.write("id,titulo,autor,isbn,anoPublicacao,disponivel\r\n");
+        naoGravarNoCacheSegundoNivel();
+        try (Stream<Livro> livros = livroRepository.streamTodosOrdenadosPorId()) {
+            for (Livro livro : (Iterable<Livro>) livros::iterator) {
+                writer.write(String.valueOf(livro.getId()));
+                writer.write(',');
+                writer.write(campoCsv(livro.getTitulo()));
+                writer.write(',');
+                writer.write(campoCsv(livro.getAutor()));
+                writer.write(',');
+                writer.write(campoCsv(livro.getIsbn()));
+                writer.write(',');
+                writer.write(String.valueOf(livro.getAnoPublicacao()));
+                writer.write(',');
+                writer.write(String.valueOf(livro.isDisponivel()));
+                writer.write("\r\n");
+                entityManager.detach(livro);
+            }
+        }
+        writer.flush();
+    }
+
+    // Coloca o campo entre aspas quando contém separador, aspas ou quebra de linha
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    // A exportação lê o catálogo inteiro; gravá-lo no cache de segundo nível despejaria os livros mais lidos
+    private void naoGravarNoCacheSegundoNivel() {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+    }
+}
@@ -0,0 +1,133 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.ResultadoLote;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Importação em lote de livros. Os itens são lidos em fluxo, validados um a um e gravados em blocos,
+ * cada bloco em sua própria transação. O próximo bloco só é lido depois que o anterior foi gravado,
+ * então o corpo da requisição nunca fica inteiro em memória.
+ * Blocos já gravados permanecem no banco mesmo que um bloco posterior falhe.
+ */
+@Service
+public class LivroImportacaoService {
+
+    private final LivroRepository livroRepository;
+    private final LivroValidador livroValidador;
+    private final IndiceIsbn indiceIsbn;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxLivros outboxLivros;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoBloco;
+
+    public LivroImportacaoService(LivroRepository livroRepository, LivroValidador livroValidador, IndiceIsbn indiceIsbn,
+                                  EntityManager entityManager, TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper, OutboxLivros outboxLivros,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${biblioteca.lote.tamanho-bloco:500}") int tamanhoBloco) {
+        this.livroRepository = livroRepository;
+        this.livroValidador = livroValidador;
+        this.indiceIsbn = indiceIsbn;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxLivros = outboxLivros;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    public ResultadoLote importar(InputStream entrada) {
+        List<ResultadoLote.Item> resultados = new ArrayList<>();
+        List<Livro> bloco = new ArrayList<>(tamanhoBloco);
+        List<Integer> indicesBloco = new ArrayList<>(tamanhoBloco);
+        // ISBNs do bloco atual; os de blocos já gravados estão no IndiceIsbn
+        Set<String> isbnsDoBloco = new HashSet<>();
+        int indice = 0;
+
+        try (LeitorLivrosJson leitor = new LeitorLivrosJson(objectMapper, entrada)) {
+            while (leitor.hasNext()) {
+                Livro livro = leitor.next();
+                List<String> erros = livroValidador.validar(livro);
+                if (erros.isEmpty() && (indiceIsbn.pertenceAOutroLivro(livro.getIsbn(), null)
+                        || !isbnsDoBloco.add(livro.getIsbn()))) {
+                    // Duplicado no catálogo ou dentro do próprio bloco ainda não gravado
+                    erros = List.of("Já existe um livro com o ISBN " + livro.getIsbn() + ".");
+                }
+                if (!erros.isEmpty()) {
+                    resultados.add(new ResultadoLote.Item(indice, null, ResultadoLote.Status.INVALIDO, erros));
+                } else {
+                    // Regra de Aplicação: o id é sempre gerado pelo banco
+                    livro.setId(null);
+                    bloco.add(livro);
+                    indicesBloco.add(indice);
+                    if (bloco.size() == tamanhoBloco) {
+                        gravarBloco(bloco, indicesBloco, resultados);
+                        isbnsDoBloco.clear();
+                    }
+                }
+                indice++;
+            }
+        } catch (JacksonException | IllegalArgumentException e) {
+            // JSON malformado: não é possível continuar a leitura; o item com problema é reportado
+            // e os itens válidos lidos até aqui ainda são gravados
+            resultados.add(new ResultadoLote.Item(indice, null, ResultadoLote.Status.INVALIDO,
+                    List.of("JSON inválido: " + e.getMessage())));
+        }
+        gravarBloco(bloco, indicesBloco, resultados);
+
+        resultados.sort((a, b) -> Integer.compare(a.indice(), b.indice()));
+        int criados = (int) resultados.stream().filter(r -> r.status() == ResultadoLote.Status.CRIADO).count();
+        return new ResultadoLote(resultados.size(), criados, resultados.size() - criados, resultados);
+    }
+
+    private void gravarBloco(List<Livro> bloco, List<Integer> indicesBloco, List<ResultadoLote.Item> resultados) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        try {
+            List<Livro> salvos = transactionTemplate.execute(status -> {
+                // Os livros importados não entram no cache de segundo nível: um lote grande despejaria
+                // da região "livros" os livros mais lidos
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                List<Livro> gravados = livroRepository.saveAll(bloco);
+                // Os eventos do outbox são confirmados (ou desfeitos) junto com o bloco
+                outboxLivros.registrarVarios(gravados.stream().map(LivroAlteradoEvento::criado).toList());
+                // Envia os INSERTs em lotes JDBC e libera o contexto de persistência a cada bloco
+                entityManager.flush();
+                entityManager.clear();
+                return gravados;
+            });
+            for (int i = 0; i < salvos.size(); i++) {
+                eventPublisher.publishEvent(LivroAlteradoEvento.criado(salvos.get(i)));
+                resultados.add(new ResultadoLote.Item(indicesBloco.get(i), salvos.get(i).getId(),
+                        ResultadoLote.Status.CRIADO, List.of()));
+            }
+        } catch (RuntimeException e) {
+            // O bloco inteiro é desfeito pela transação; cada item dele é marcado com o erro
+            for (Integer indiceItem : indicesBloco) {
+                resultados.add(new ResultadoLote.Item(indiceItem, null, ResultadoLote.Status.ERRO,
+                        List.of("Falha ao gravar o bloco: " + e.getMessage())));
+            }
+        }
+        bloco.clear();
+        indicesBloco.clear();
+    }
+}
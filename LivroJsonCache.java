@@ -0,0 +1,76 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache do JSON (bytes UTF-8) de cada livro, para que GET /api/livros/{id} devolva a resposta
+ * sem passar o Livro pelo Jackson a cada requisição. Usa o mesmo ObjectMapper do Spring MVC,
+ * então os bytes são idênticos aos que o conversor de mensagens produziria.
+ *
+ * A entrada guarda a versão do livro serializado e só é usada se ela for igual à do livro recebido;
+ * assim uma serialização concorrente de uma versão antiga nunca é servida depois de uma atualização.
+ */
+@Component
+public class LivroJsonCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, LivroSerializado> cache;
+
+    public LivroJsonCache(ObjectMapper objectMapper,
+                          @Value("${biblioteca.cache.json.peso-maximo-bytes:33554432}") long pesoMaximoBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximoBytes)
+                .weigher((Long id, LivroSerializado serializado) -> 48 + serializado.json().length)
+                .recordStats()
+                .build();
+    }
+
+    // O array devolvido é compartilhado entre requisições e não deve ser alterado
+    public byte[] serializar(Livro livro) {
+        LivroSerializado emCache = cache.getIfPresent(livro.getId());
+        if (emCache != null && Objects.equals(emCache.versao(), livro.getVersao())) {
+            return emCache.json();
+        }
+        byte[] json = objectMapper.writeValueAsBytes(livro);
+        cache.put(livro.getId(), new LivroSerializado(livro.getVersao(), json));
+        return json;
+    }
+
+    // Atualizações e exclusões descartam o JSON antigo; a próxima leitura serializa a versão nova
+    @EventListener
+    public void aoAlterarLivro(LivroAlteradoEvento evento) {
+        if (evento.tipo() != LivroAlteradoEvento.Tipo.CRIADO) {
+            cache.invalidate(evento.id());
+        }
+    }
+
+    public Map<String, Object> estatisticas() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("acertos", stats.hitCount());
+        resultado.put("faltas", stats.missCount());
+        resultado.put("taxaAcerto", stats.hitRate());
+        resultado.put("despejos", stats.evictionCount());
+        resultado.put("entradas", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            resultado.put("pesoAtualBytes", eviction.weightedSize().orElse(0L));
+            resultado.put("pesoMaximoBytes", eviction.getMaximum());
+        });
+        return resultado;
+    }
+
+    private record LivroSerializado(Long versao, byte[] json) {
+    }
+}
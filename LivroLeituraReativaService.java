@@ -0,0 +1,84 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.CampoOrdenacao;
+import com.biblioteca.biblioteca_api.repository.LivroEspecificacoes;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Leituras de livros expostas como Mono/Flux (Reactor) sobre o mesmo JPA/H2 da API bloqueante.
+ * O JDBC continua bloqueante, então toda consulta roda no scheduler boundedElastic e a thread
+ * da requisição fica livre enquanto isso.
+ *
+ * A listagem respeita a demanda do cliente (backpressure): cada página por keyset só é lida quando
+ * o assinante pede mais livros, e cada página usa uma conexão apenas durante a própria consulta.
+ * Como a listagem sem limite percorre o catálogo inteiro, as páginas não gravam no cache de segundo nível.
+ */
+@Service
+public class LivroLeituraReativaService {
+
+    private static final Sort POR_ID = LivroEspecificacoes.ordenacao(CampoOrdenacao.ID, Sort.Direction.ASC);
+
+    private final LivroRepository livroRepository;
+    private final LivroCache livroCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoPagina;
+
+    public LivroLeituraReativaService(LivroRepository livroRepository, LivroCache livroCache,
+                                      EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                      @Value("${biblioteca.reativo.tamanho-pagina:200}") int tamanhoPagina) {
+        this.livroRepository = livroRepository;
+        this.livroCache = livroCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    // Vazio quando o livro não existe
+    public Mono<Livro> buscarPorId(Long id) {
+        return Mono.fromCallable(() -> livroCache.buscar(id).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Livros que atendem aos filtros, em ordem de id, até o limite (nulo = todos)
+    public Flux<Livro> listar(Specification<Livro> filtros, Long limite) {
+        // Com limite menor que a página, a consulta não traz linhas que o take descartaria
+        int tamanho = limite == null ? tamanhoPagina : (int) Math.min(tamanhoPagina, limite);
+        Flux<List<Livro>> paginas = pagina(filtros, 0L, tamanho)
+                // Página incompleta: não há outra, e a consulta que só confirmaria isso é evitada
+                .expand(anterior -> anterior.size() < tamanho ? Mono.empty()
+                        : pagina(filtros, anterior.get(anterior.size() - 1).getId(), tamanho));
+
+        // Os livros de uma página já lida são entregues na thread que pede mais, sem nova troca de thread;
+        // o take repassa o limite à demanda, então nenhuma página além do necessário é lida
+        Flux<Livro> livros = paginas.concatMapIterable(pagina -> pagina, 1);
+        return limite == null ? livros : livros.take(limite);
+    }
+
+    private Mono<List<Livro>> pagina(Specification<Livro> filtros, long ultimoId, int tamanho) {
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+                    // A sessão é desta página: o modo vale só para a consulta abaixo
+                    entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                    return livroRepository.buscarPagina(
+                            filtros.and(LivroEspecificacoes.depoisDe(CampoOrdenacao.ID, Sort.Direction.ASC, null, ultimoId)),
+                            POR_ID, tamanho);
+                }))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
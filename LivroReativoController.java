@@ -0,0 +1,65 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroEspecificacoes;
+import com.biblioteca.biblioteca_api.service.FiltroBloomLivros;
+import com.biblioteca.biblioteca_api.service.LivroLeituraReativaService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão não bloqueante das leituras do LivroController (somente leitura).
+ * Os handlers devolvem Mono/Flux; o Spring MVC libera a thread da requisição e escreve a resposta
+ * quando os dados chegam. A listagem é enviada em NDJSON, um livro por linha, no ritmo em que o
+ * cliente consome.
+ */
+@RestController
+@RequestMapping("/api/reativo/livros")
+public class LivroReativoController {
+
+    private final LivroLeituraReativaService livroLeituraReativaService;
+    private final FiltroBloomLivros filtroBloom;
+
+    public LivroReativoController(LivroLeituraReativaService livroLeituraReativaService,
+                                  FiltroBloomLivros filtroBloom) {
+        this.livroLeituraReativaService = livroLeituraReativaService;
+        this.filtroBloom = filtroBloom;
+    }
+
+    // GET /api/reativo/livros?autor=...&anoMin=...&anoMax=...&disponivel=...&limite=...
+    // Mesmos filtros de GET /api/livros, em ordem de id; em vez de páginas com cursor, um único fluxo.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Livro> listar(@RequestParam(required = false) String autor,
+                              @RequestParam(required = false) Integer anoMin,
+                              @RequestParam(required = false) Integer anoMax,
+                              @RequestParam(required = false) Boolean disponivel,
+                              @RequestParam(required = false) Long limite) {
+        if (anoMin != null && anoMax != null && anoMin > anoMax) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "anoMin não pode ser maior que anoMax.");
+        }
+        if (limite != null && limite < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O limite deve ser um número positivo.");
+        }
+        return livroLeituraReativaService.listar(
+                LivroEspecificacoes.filtrar(autor, anoMin, anoMax, disponivel), limite);
+    }
+
+    // GET /api/reativo/livros/{id}
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Livro>> buscarPorId(@PathVariable Long id) {
+        Mono<Livro> livro = filtroBloom.talvezExistaId(id) ? livroLeituraReativaService.buscarPorId(id) : Mono.empty();
+        return livro
+                .map(encontrado -> ResponseEntity.ok().eTag("\"" + encontrado.getVersao() + "\"").body(encontrado))
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Livro com ID " + id + " não encontrado.")));
+    }
+}
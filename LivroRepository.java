@@ -1,18 +1,112 @@
 package com.biblioteca.biblioteca_api.repository;
 
 import com.biblioteca.biblioteca_api.model.Livro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository responsável pela comunicação com o banco de dados para a entidade Livro.
  * O Spring Data JPA fornece automaticamente a implementação para as operações CRUD.
  */
 @Repository
-public interface LivroRepository extends JpaRepository<Livro, Long> {
+public interface LivroRepository extends JpaRepository<Livro, Long>, JpaSpecificationExecutor<Livro> {
     // Métodos CRUD básicos: save, findById, findAll, deleteById, etc.,
     // são herdados automaticamente do JpaRepository.
 
     // Você pode adicionar métodos personalizados se precisar, ex:
     // List<Livro> findByAutor(String autor);
+
+    // Paginação por cursor (keyset): busca os próximos livros após o último id visto.
+    // Usa uma varredura por faixa no índice da chave primária, sem OFFSET e sem carregar a tabela inteira.
+    // Cacheável: o resultado (ids) fica no cache de consultas até a próxima escrita na tabela livro
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Livro> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Listagem filtrada (ver LivroEspecificacoes): uma consulta com ORDER BY e LIMIT, sem o COUNT
+    // que o findAll(Specification, Pageable) faria para montar uma Page
+    default List<Livro> buscarPagina(Specification<Livro> especificacao, Sort ordenacao, int limite) {
+        return findBy(especificacao, consulta -> consulta.sortBy(ordenacao).limit(limite).all());
+    }
+
+    // Busca pelo ISBN canônico, coberta pelo índice único uk_livro_isbn
+    Optional<Livro> findByIsbn(String isbn);
+
+    // Lê o livro do banco mesmo que ele esteja no cache de segundo nível (findById o serviria de lá).
+    // Necessário logo após um UPDATE em JPQL na mesma transação: a região só é esvaziada no commit.
+    @Query("select l from Livro l where l.id = :id")
+    Optional<Livro> buscarNoBanco(@Param("id") Long id);
+
+    // Só a coluna versao, para responder If-None-Match sem carregar a entidade
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select l.versao from Livro l where l.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+
+    // Leitura em fluxo do catálogo inteiro para exportação: as linhas chegam do JDBC em lotes
+    // (fetch size) e são entregues uma a uma, sem montar uma List com todos os livros.
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+    // Quem consome deve pôr a sessão em CacheMode.IGNORE, senão o catálogo inteiro entra no cache de segundo nível
+    // e despeja da região "livros" os livros mais lidos. A dica HINT_CACHE_MODE não serve aqui: em consultas em
+    // fluxo o Hibernate restaura o modo da sessão assim que a consulta é aberta, antes de ler as linhas.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l from Livro l order by l.id")
+    Stream<Livro> streamTodosOrdenadosPorId();
+
+    // Atualização completa condicional (If-Match): um único UPDATE, sem ler o livro antes.
+    // Só altera a linha se a versão no banco for a esperada; retorna a quantidade de linhas alteradas.
+    @Transactional
+    @Modifying
+    @Query("update Livro l set l.titulo = :titulo, l.autor = :autor, l.isbn = :isbn, " +
+            "l.anoPublicacao = :anoPublicacao, l.disponivel = :disponivel, l.versao = l.versao + 1 " +
+            "where l.id = :id and l.versao = :versao")
+    int atualizarSeVersao(@Param("id") Long id, @Param("versao") Long versao,
+                          @Param("titulo") String titulo, @Param("autor") String autor,
+                          @Param("isbn") String isbn, @Param("anoPublicacao") Integer anoPublicacao,
+                          @Param("disponivel") boolean disponivel);
+
+    // Atualização parcial condicional: campos nulos mantêm o valor atual da coluna
+    @Transactional
+    @Modifying
+    @Query("update Livro l set l.titulo = coalesce(:titulo, l.titulo), l.autor = coalesce(:autor, l.autor), " +
+            "l.isbn = coalesce(:isbn, l.isbn), l.anoPublicacao = coalesce(:anoPublicacao, l.anoPublicacao), " +
+            "l.versao = l.versao + 1 " +
+            "where l.id = :id and l.versao = :versao")
+    int atualizarParcialmenteSeVersao(@Param("id") Long id, @Param("versao") Long versao,
+                                      @Param("titulo") String titulo, @Param("autor") String autor,
+                                      @Param("isbn") String isbn, @Param("anoPublicacao") Integer anoPublicacao);
+
+    // Exclusão em um único DELETE; a quantidade de linhas afetadas indica se o livro existia.
+    // (deleteById do Spring Data carrega a entidade antes de removê-la)
+    @Transactional
+    @Modifying
+    @Query("delete from Livro l where l.id = :id")
+    int excluirPorId(@Param("id") Long id);
+
+    // Ids que existem entre os informados, com as linhas bloqueadas até o fim da transação: uma exclusão
+    // concorrente dos mesmos ids espera, então cada id só é dado como excluído por uma das duas
+    @Query(value = "select id from livro where id in (:ids) for update", nativeQuery = true)
+    List<Long> bloquearExistentes(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Livro l where l.id in :ids")
+    int excluirPorIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
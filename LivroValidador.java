@@ -0,0 +1,75 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.Isbn;
+import com.biblioteca.biblioteca_api.model.Livro;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regras de validação de Livro compartilhadas entre o cadastro individual e a importação em lote.
+ */
+@Component
+public class LivroValidador {
+
+    private final Validator validator;
+
+    public LivroValidador(Validator validator) {
+        this.validator = validator;
+    }
+
+    // Lógica de Negócio: Validação do Ano de Publicação
+    public void validarAnoPublicacao(Integer ano) {
+        String erro = erroAnoPublicacao(ano);
+        if (erro != null) {
+            // Lança exceção que será mapeada para uma resposta HTTP 400 Bad Request
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, erro);
+        }
+    }
+
+    // Converte o ISBN informado (ISBN-10 ou ISBN-13, com ou sem hífens) para o ISBN-13 canônico
+    public String normalizarIsbn(String isbn) {
+        try {
+            return Isbn.normalizar(isbn);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Aplica as validações de Bean Validation, a regra do ano e a normalização do ISBN, devolvendo
+    // as mensagens de erro em vez de lançar exceção (usado quando cada item precisa de um resultado próprio)
+    public List<String> validar(Livro livro) {
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<Livro> violacao : validator.validate(livro)) {
+            erros.add(violacao.getMessage());
+        }
+        String erroAno = erroAnoPublicacao(livro.getAnoPublicacao());
+        if (erroAno != null && livro.getAnoPublicacao() != null) {
+            // Ano nulo já é reportado pelo @NotNull da entidade
+            erros.add(erroAno);
+        }
+        if (erros.isEmpty()) {
+            // Livro válido sai daqui com o ISBN já na forma canônica
+            try {
+                livro.setIsbn(Isbn.normalizar(livro.getIsbn()));
+            } catch (IllegalArgumentException e) {
+                erros.add(e.getMessage());
+            }
+        }
+        return erros;
+    }
+
+    private String erroAnoPublicacao(Integer ano) {
+        int anoAtual = Year.now().getValue();
+        if (ano == null || ano > anoAtual) {
+            return "O ano de publicação (" + ano + ") não pode ser nulo ou futuro.";
+        }
+        return null;
+    }
+}
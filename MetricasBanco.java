@@ -0,0 +1,35 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Métricas do acesso ao banco no Micrometer (expostas em /actuator/prometheus) que o Spring Boot não registra:
+ * a saturação do pool de conexões, lida na hora da coleta dos contadores que o Hikari já mantém.
+ *
+ * O tempo de cada método dos repositórios vem do Spring Boot (spring.data.repository.invocations, com as tags
+ * repository, method, state e exception), em histogramas configurados no application.properties. As métricas
+ * gerais do Hibernate (hibernate.*) e do pool (hikaricp.*) também vêm da autoconfiguração.
+ */
+@Component
+public class MetricasBanco {
+
+    public MetricasBanco(MeterRegistry registry, DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            Gauge.builder("biblioteca.jdbc.conexoes.saturacao", hikari, MetricasBanco::saturacao)
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .description("Conexões em uso / tamanho máximo do pool (1 = novas requisições esperam por conexão)")
+                    .register(registry);
+        }
+    }
+
+    private static double saturacao(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool == null ? 0 : (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,123 @@
+package com.biblioteca.biblioteca_api.controller;
+
+import com.biblioteca.biblioteca_api.service.DespachanteOutbox;
+import com.biblioteca.biblioteca_api.service.DiagnosticoVirtualThreads;
+import com.biblioteca.biblioteca_api.service.EstatisticasHibernate;
+import com.biblioteca.biblioteca_api.service.FeedAlteracoes;
+import com.biblioteca.biblioteca_api.service.FiltroBloomLivros;
+import com.biblioteca.biblioteca_api.service.IndiceAutocompletar;
+import com.biblioteca.biblioteca_api.service.IndiceBuscaTextual;
+import com.biblioteca.biblioteca_api.service.IndiceFacetas;
+import com.biblioteca.biblioteca_api.service.IndiceIsbn;
+import com.biblioteca.biblioteca_api.service.LivroCache;
+import com.biblioteca.biblioteca_api.service.LivroJsonCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Endpoints de leitura das métricas internas da aplicação (caches, índices, etc.).
+ */
+@RestController
+@RequestMapping("/api/metricas")
+public class MetricasController {
+
+    private final LivroCache livroCache;
+    private final LivroJsonCache livroJsonCache;
+    private final IndiceBuscaTextual indiceBuscaTextual;
+    private final IndiceAutocompletar indiceAutocompletar;
+    private final IndiceIsbn indiceIsbn;
+    private final FiltroBloomLivros filtroBloom;
+    private final IndiceFacetas indiceFacetas;
+    private final DiagnosticoVirtualThreads diagnosticoVirtualThreads;
+    private final FeedAlteracoes feedAlteracoes;
+    private final DespachanteOutbox despachanteOutbox;
+    private final EstatisticasHibernate estatisticasHibernate;
+
+    public MetricasController(LivroCache livroCache, LivroJsonCache livroJsonCache, IndiceBuscaTextual indiceBuscaTextual,
+                              IndiceAutocompletar indiceAutocompletar, IndiceIsbn indiceIsbn,
+                              FiltroBloomLivros filtroBloom, IndiceFacetas indiceFacetas,
+                              DiagnosticoVirtualThreads diagnosticoVirtualThreads,
+                              FeedAlteracoes feedAlteracoes, DespachanteOutbox despachanteOutbox,
+                              EstatisticasHibernate estatisticasHibernate) {
+        this.livroCache = livroCache;
+        this.livroJsonCache = livroJsonCache;
+        this.indiceBuscaTextual = indiceBuscaTextual;
+        this.indiceAutocompletar = indiceAutocompletar;
+        this.indiceIsbn = indiceIsbn;
+        this.filtroBloom = filtroBloom;
+        this.indiceFacetas = indiceFacetas;
+        this.diagnosticoVirtualThreads = diagnosticoVirtualThreads;
+        this.feedAlteracoes = feedAlteracoes;
+        this.despachanteOutbox = despachanteOutbox;
+        this.estatisticasHibernate = estatisticasHibernate;
+    }
+
+    // GET /api/metricas/cache/livros
+    @GetMapping("/cache/livros")
+    public Map<String, Object> cacheLivros() {
+        return livroCache.estatisticas();
+    }
+
+    // GET /api/metricas/cache/json
+    @GetMapping("/cache/json")
+    public Map<String, Object> cacheJson() {
+        return livroJsonCache.estatisticas();
+    }
+
+    // GET /api/metricas/indices/busca
+    @GetMapping("/indices/busca")
+    public Map<String, Object> indiceBusca() {
+        return indiceBuscaTextual.estatisticas();
+    }
+
+    // GET /api/metricas/indices/autocompletar
+    @GetMapping("/indices/autocompletar")
+    public Map<String, Object> indiceAutocompletar() {
+        return indiceAutocompletar.estatisticas();
+    }
+
+    // GET /api/metricas/indices/isbn
+    @GetMapping("/indices/isbn")
+    public Map<String, Object> indiceIsbn() {
+        return indiceIsbn.estatisticas();
+    }
+
+    // GET /api/metricas/indices/bloom
+    @GetMapping("/indices/bloom")
+    public Map<String, Object> filtroBloom() {
+        return filtroBloom.estatisticas();
+    }
+
+    // GET /api/metricas/indices/facetas
+    @GetMapping("/indices/facetas")
+    public Map<String, Object> indiceFacetas() {
+        return indiceFacetas.estatisticas();
+    }
+
+    // GET /api/metricas/threads
+    @GetMapping("/threads")
+    public Map<String, Object> threads() {
+        return diagnosticoVirtualThreads.estatisticas();
+    }
+
+    // GET /api/metricas/feed
+    @GetMapping("/feed")
+    public Map<String, Object> feed() {
+        return feedAlteracoes.estatisticas();
+    }
+
+    // GET /api/metricas/outbox
+    @GetMapping("/outbox")
+    public Map<String, Object> outbox() {
+        return despachanteOutbox.estatisticas();
+    }
+
+    // GET /api/metricas/hibernate  (cache de segundo nível, cache de consultas e contadores do Hibernate)
+    @GetMapping("/hibernate")
+    public Map<String, Object> hibernate() {
+        return estatisticasHibernate.estatisticas();
+    }
+}
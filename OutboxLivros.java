@@ -0,0 +1,51 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.model.AlteracaoLivro;
+import com.biblioteca.biblioteca_api.model.EventoOutbox;
+import com.biblioteca.biblioteca_api.repository.EventoOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava os eventos de alteração de livros no outbox. Só pode ser chamado dentro da transação que
+ * altera o livro (MANDATORY), depois do comando que altera a linha: o evento é confirmado ou desfeito
+ * junto com ela, e duas alterações do mesmo livro recebem ids na ordem em que foram confirmadas.
+ */
+@Component
+public class OutboxLivros {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxLivros(EventoOutboxRepository eventoOutboxRepository, ObjectMapper objectMapper) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(LivroAlteradoEvento evento) {
+        eventoOutboxRepository.save(paraOutbox(evento, Instant.now()));
+    }
+
+    // Vários eventos da mesma transação; os INSERTs seguem em lotes JDBC
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarVarios(List<LivroAlteradoEvento> eventos) {
+        Instant agora = Instant.now();
+        List<EventoOutbox> linhas = new ArrayList<>(eventos.size());
+        for (LivroAlteradoEvento evento : eventos) {
+            linhas.add(paraOutbox(evento, agora));
+        }
+        eventoOutboxRepository.saveAll(linhas);
+    }
+
+    private EventoOutbox paraOutbox(LivroAlteradoEvento evento, Instant agora) {
+        String livro = evento.livro() == null ? null : objectMapper.writeValueAsString(evento.livro());
+        return new EventoOutbox(AlteracaoLivro.Tipo.valueOf(evento.tipo().name()), evento.id(), livro, agora);
+    }
+}
@@ -0,0 +1,10 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import java.util.List;
+
+/**
+ * Página da sincronização incremental (GET /api/livros/alteracoes).
+ * O token é o valor a enviar em "desde" na próxima chamada; haMais indica que há outra página já disponível.
+ */
+public record PaginaAlteracoes(List<AlteracaoSincronizada> alteracoes, long token, boolean haMais) {
+}
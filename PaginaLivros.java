@@ -0,0 +1,12 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+import java.util.List;
+
+/**
+ * Página de resultados da listagem de livros.
+ * O campo proximoCursor é nulo quando não há mais páginas a serem lidas.
+ */
+public record PaginaLivros(List<Livro> itens, String proximoCursor) {
+}
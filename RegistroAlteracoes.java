@@ -0,0 +1,158 @@
+package com.biblioteca.biblioteca_api.service;
+
+import com.biblioteca.biblioteca_api.dto.AlteracaoSincronizada;
+import com.biblioteca.biblioteca_api.dto.PaginaAlteracoes;
+import com.biblioteca.biblioteca_api.model.AlteracaoLivro;
+import com.biblioteca.biblioteca_api.model.EventoOutbox;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.AlteracaoLivroRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro de alterações do catálogo para a sincronização incremental (GET /api/livros/alteracoes).
+ * Cada evento do outbox vira uma linha em alteracao_livro. Uma cópia do catálogo guarda o token
+ * (a sequência da última alteração que aplicou) e pede só o que mudou depois dele, em vez de baixar tudo.
+ *
+ * O registro é um destino do outbox: o evento é gravado na mesma transação da alteração (OutboxLivros)
+ * e copiado para cá pelo DespachanteOutbox, uma única thread que grava um lote de cada vez. Assim nenhuma
+ * alteração confirmada fica fora do registro, uma falha aqui não afeta a escrita (o lote é reenviado), e
+ * as sequências crescem na ordem em que os registros ficam visíveis: quem já leu a alteração N nunca vê
+ * depois aparecer uma menor que N. A alteração chega ao registro com o atraso do despacho
+ * (biblioteca.outbox.intervalo).
+ */
+@Service
+public class RegistroAlteracoes implements DestinoOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroAlteracoes.class);
+
+    private final AlteracaoLivroRepository alteracaoLivroRepository;
+    private final LivroCache livroCache;
+    // Republica cada alteração já com a sequência, para o feed em SSE (FeedAlteracoes)
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retencao;
+
+    public RegistroAlteracoes(AlteracaoLivroRepository alteracaoLivroRepository, LivroCache livroCache,
+                              ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                              @Value("${biblioteca.sincronizacao.retencao:30d}") Duration retencao) {
+        this.alteracaoLivroRepository = alteracaoLivroRepository;
+        this.livroCache = livroCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.retencao = retencao;
+    }
+
+    @Override
+    public String getNome() {
+        return "registro-alteracoes";
+    }
+
+    // Chamado só pelo DespachanteOutbox, com os eventos em ordem de id (por livro, a ordem dos commits)
+    @Override
+    public void enviar(List<EventoOutbox> lote) {
+        List<AlteracaoLivro> gravadas = transactionTemplate.execute(status -> {
+            Set<Long> jaRegistrados = new HashSet<>(alteracaoLivroRepository.eventosRegistrados(
+                    lote.stream().map(EventoOutbox::getId).toList()));
+            List<AlteracaoLivro> novas = new ArrayList<>(lote.size());
+            for (EventoOutbox evento : lote) {
+                if (!jaRegistrados.contains(evento.getId())) {
+                    novas.add(new AlteracaoLivro(evento.getId(), evento.getLivroId(), evento.getTipo(),
+                            evento.getCriadoEm()));
+                }
+            }
+            return alteracaoLivroRepository.saveAll(novas);
+        });
+        // Depois do commit e na ordem da sequência, para que o feed nunca entregue algo que o registro não tem.
+        // Com o estado atual, como na sincronização: o do evento pode já ter sido sobrescrito no atraso do despacho
+        resolver(gravadas).forEach(eventPublisher::publishEvent);
+    }
+
+    // Token a partir do qual uma cópia completa recém-baixada deve sincronizar
+    public long tokenAtual() {
+        Long ultima = alteracaoLivroRepository.ultimaSequencia();
+        return ultima == null ? 0L : ultima;
+    }
+
+    // Alterações posteriores ao token, no máximo "tamanho" por página
+    public PaginaAlteracoes listarDesde(long desde, int tamanho) {
+        verificarToken(desde);
+        List<AlteracaoLivro> registros = alteracaoLivroRepository.findBySequenciaGreaterThanOrderBySequenciaAsc(
+                desde, Limit.of(tamanho + 1));
+        boolean haMais = registros.size() > tamanho;
+        if (haMais) {
+            registros = registros.subList(0, tamanho);
+        }
+        if (registros.isEmpty()) {
+            return new PaginaAlteracoes(List.of(), desde, false);
+        }
+        return new PaginaAlteracoes(resolver(registros), registros.get(registros.size() - 1).getSequencia(), haMais);
+    }
+
+    // Registros em ordem de sequência, com o estado atual de cada livro ou uma lápide
+    private List<AlteracaoSincronizada> resolver(List<AlteracaoLivro> registros) {
+        // Várias alterações do mesmo livro viram uma só, na posição da última
+        Map<Long, AlteracaoLivro> ultimaPorLivro = new LinkedHashMap<>();
+        for (AlteracaoLivro registro : registros) {
+            ultimaPorLivro.remove(registro.getLivroId());
+            ultimaPorLivro.put(registro.getLivroId(), registro);
+        }
+        List<Long> idsAtivos = ultimaPorLivro.values().stream()
+                .filter(registro -> registro.getTipo() != AlteracaoLivro.Tipo.EXCLUIDO)
+                .map(AlteracaoLivro::getLivroId)
+                .toList();
+        Map<Long, Livro> atuais = idsAtivos.isEmpty() ? Map.of() : livroCache.buscarVarios(idsAtivos);
+
+        List<AlteracaoSincronizada> alteracoes = new ArrayList<>(ultimaPorLivro.size());
+        for (AlteracaoLivro registro : ultimaPorLivro.values()) {
+            Livro livro = registro.getTipo() == AlteracaoLivro.Tipo.EXCLUIDO ? null : atuais.get(registro.getLivroId());
+            // Excluído depois desta alteração: já sai como lápide (a exclusão em si vem depois)
+            AlteracaoLivro.Tipo tipo = livro == null ? AlteracaoLivro.Tipo.EXCLUIDO : registro.getTipo();
+            alteracoes.add(new AlteracaoSincronizada(registro.getSequencia(), tipo, registro.getLivroId(), livro));
+        }
+        return alteracoes;
+    }
+
+    // 410 quando as alterações seguintes ao token já foram removidas pela retenção, ou quando o token
+    // é de outro registro (maior que a última sequência, ex.: banco recriado): a cópia precisa ser refeita
+    void verificarToken(long desde) {
+        if (desde < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O token deve ser zero ou positivo.");
+        }
+        Long primeira = alteracaoLivroRepository.primeiraSequencia();
+        long ultima = primeira == null ? 0L : alteracaoLivroRepository.ultimaSequencia();
+        if ((primeira != null && desde < primeira - 1) || desde > ultima) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Token " + desde + " expirado ou desconhecido; refaça a cópia completa (GET /api/livros/export).");
+        }
+    }
+
+    @Scheduled(cron = "${biblioteca.sincronizacao.limpeza-cron:0 0 3 * * *}")
+    public void removerExpiradas() {
+        Long ultima = alteracaoLivroRepository.ultimaSequencia();
+        if (ultima == null) {
+            return;
+        }
+        int removidas = alteracaoLivroRepository.excluirAnteriores(Instant.now().minus(retencao), ultima);
+        if (removidas > 0) {
+            log.info("{} alterações removidas do registro de sincronização (retenção de {})", removidas, retencao);
+        }
+    }
+}
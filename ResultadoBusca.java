@@ -0,0 +1,9 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+/**
+ * Item da busca textual: o livro encontrado e sua pontuação de relevância (BM25).
+ */
+public record ResultadoBusca(Livro livro, double pontuacao) {
+}
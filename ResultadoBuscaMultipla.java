@@ -0,0 +1,12 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+import java.util.List;
+
+/**
+ * Resposta da busca de vários livros por id: os encontrados, na ordem em que foram pedidos,
+ * e os ids que não existem.
+ */
+public record ResultadoBuscaMultipla(List<Livro> livros, List<Long> naoEncontrados) {
+}
@@ -0,0 +1,7 @@
+package com.biblioteca.biblioteca_api.dto;
+
+/**
+ * Resultado da exclusão de vários livros por id: quantos ids foram pedidos e quantos livros existiam e foram removidos.
+ */
+public record ResultadoExclusaoLote(int solicitados, int excluidos) {
+}
@@ -0,0 +1,16 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import java.util.Map;
+
+/**
+ * Contagens de facetas da listagem de livros para uma combinação de filtros.
+ * total é a quantidade de livros que atendem a todos os filtros. Em cada faceta, a contagem de um valor
+ * considera os filtros das outras facetas, mas não o da própria, para que a interface possa mostrar
+ * quantos livros haveria ao trocar a seleção (ex.: com autor=X, autores ainda lista os demais autores).
+ * Os mapas vêm ordenados: autores pela contagem (decrescente), décadas em ordem cronológica.
+ */
+public record ResultadoFacetas(long total,
+                               Map<String, Long> autores,
+                               Map<Integer, Long> decadas,
+                               Map<Boolean, Long> disponivel) {
+}
@@ -0,0 +1,15 @@
+package com.biblioteca.biblioteca_api.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação em lote: totais e o resultado de cada item, na ordem do corpo da requisição.
+ */
+public record ResultadoLote(int total, int criados, int rejeitados, List<Item> itens) {
+
+    public enum Status { CRIADO, INVALIDO, ERRO }
+
+    // indice é a posição do item no corpo (começando em 0); id só é preenchido quando o item foi criado
+    public record Item(int indice, Long id, Status status, List<String> erros) {
+    }
+}
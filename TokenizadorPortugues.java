@@ -0,0 +1,57 @@
+package com.biblioteca.biblioteca_api.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenização de textos em português para os índices em memória: remove acentos,
+ * converte para minúsculas, separa por qualquer caractere que não seja letra ou dígito
+ * e descarta as palavras mais comuns (stopwords).
+ */
+public final class TokenizadorPortugues {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    // Já sem acentos, pois a comparação é feita depois da normalização
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "e", "ou", "de", "da", "do", "das", "dos",
+            "em", "na", "no", "nas", "nos", "num", "numa", "por", "pela", "pelo", "pelas", "pelos", "para",
+            "pra", "com", "sem", "que", "se", "ao", "aos", "sob", "sobre", "entre", "como", "mais");
+
+    private TokenizadorPortugues() {
+    }
+
+    // Remove acentos e converte para minúsculas, preservando espaços e pontuação
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenizar(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> tokens = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean fimDeToken = i == normalizado.length() || !Character.isLetterOrDigit(normalizado.charAt(i));
+            if (!fimDeToken) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+            } else if (inicio >= 0) {
+                String token = normalizado.substring(inicio, i);
+                if (!STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                inicio = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,270 @@
+package com.biblioteca.biblioteca_api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Árvore de prefixos compacta (radix tree) com pesos, usada no autocompletar.
+ * Cada aresta guarda um trecho da chave em vez de um único caractere, então o número de nós
+ * fica proporcional ao número de chaves e não ao total de caracteres. Cada nó guarda também o
+ * maior peso da sua subárvore, o que permite achar as N chaves mais pesadas de um prefixo
+ * visitando só os ramos promissores (busca pelo melhor primeiro), sem percorrer a subárvore inteira.
+ * Não é thread-safe: quem usa deve sincronizar o acesso.
+ */
+public class TrieRadix {
+
+    public record Entrada(String chave, String exibicao, int peso) {
+    }
+
+    private static final No[] SEM_FILHOS = new No[0];
+
+    private static final class No {
+        String rotulo;
+        No[] filhos = SEM_FILHOS; // ordenados pelo primeiro caractere do rótulo
+        int peso;                 // maior que zero quando uma chave termina neste nó
+        String exibicao;          // forma original da chave, para exibir ao usuário
+        int pesoMaximo;           // maior peso entre este nó e seus descendentes
+
+        No(String rotulo) {
+            this.rotulo = rotulo;
+        }
+    }
+
+    private final No raiz = new No("");
+    private int quantidadeNos = 1;
+    private int quantidadeChaves;
+
+    // Soma delta ao peso da chave, criando-a se ainda não existir
+    public void adicionar(String chave, String exibicao, int delta) {
+        if (chave.isEmpty() || delta <= 0) {
+            return;
+        }
+        List<No> caminho = new ArrayList<>();
+        No no = raiz;
+        int i = 0;
+        while (true) {
+            caminho.add(no);
+            if (i == chave.length()) {
+                if (no.peso == 0) {
+                    quantidadeChaves++;
+                    no.exibicao = exibicao;
+                }
+                no.peso += delta;
+                break;
+            }
+            int posicao = buscarFilho(no, chave.charAt(i));
+            if (posicao < 0) {
+                No folha = new No(chave.substring(i));
+                folha.peso = delta;
+                folha.exibicao = exibicao;
+                folha.pesoMaximo = delta;
+                inserirFilho(no, -(posicao + 1), folha);
+                quantidadeNos++;
+                quantidadeChaves++;
+                break;
+            }
+            No filho = no.filhos[posicao];
+            int comum = prefixoComum(filho.rotulo, chave, i);
+            if (comum < filho.rotulo.length()) {
+                // A chave diverge no meio do rótulo: divide a aresta com um nó intermediário
+                No intermediario = new No(filho.rotulo.substring(0, comum));
+                filho.rotulo = filho.rotulo.substring(comum);
+                intermediario.filhos = new No[]{filho};
+                intermediario.pesoMaximo = filho.pesoMaximo;
+                no.filhos[posicao] = intermediario;
+                quantidadeNos++;
+                filho = intermediario;
+            }
+            no = filho;
+            i += comum;
+        }
+        recalcularPesos(caminho);
+    }
+
+    // Subtrai delta do peso da chave; ao chegar a zero a chave é removida e a árvore compactada
+    public void subtrair(String chave, int delta) {
+        if (chave.isEmpty() || delta <= 0) {
+            return;
+        }
+        List<No> caminho = new ArrayList<>();
+        No no = raiz;
+        int i = 0;
+        while (i < chave.length()) {
+            caminho.add(no);
+            int posicao = buscarFilho(no, chave.charAt(i));
+            if (posicao < 0) {
+                return;
+            }
+            No filho = no.filhos[posicao];
+            if (!chave.startsWith(filho.rotulo, i)) {
+                return;
+            }
+            no = filho;
+            i += filho.rotulo.length();
+        }
+        if (no.peso == 0) {
+            return;
+        }
+        no.peso -= delta;
+        if (no.peso <= 0) {
+            no.peso = 0;
+            no.exibicao = null;
+            quantidadeChaves--;
+            compactar(caminho, no);
+        }
+        caminho.add(no);
+        recalcularPesos(caminho);
+    }
+
+    // As N chaves de maior peso que começam com o prefixo, da mais para a menos pesada
+    public List<Entrada> melhores(String prefixo, int limite) {
+        No no = raiz;
+        StringBuilder caminho = new StringBuilder();
+        int i = 0;
+        while (i < prefixo.length()) {
+            int posicao = buscarFilho(no, prefixo.charAt(i));
+            if (posicao < 0) {
+                return List.of();
+            }
+            No filho = no.filhos[posicao];
+            int comum = prefixoComum(filho.rotulo, prefixo, i);
+            if (comum < filho.rotulo.length() && i + comum < prefixo.length()) {
+                return List.of();
+            }
+            caminho.append(filho.rotulo);
+            no = filho;
+            i += comum;
+        }
+
+        // Fila de prioridade por peso: nós entram com o peso máximo da subárvore e chaves com o próprio peso.
+        // Como nenhum descendente pesa mais que o pesoMaximo do nó, cada chave sai da fila na ordem correta.
+        PriorityQueue<Candidato> fila = new PriorityQueue<>();
+        fila.add(new Candidato(no, caminho.toString(), no.pesoMaximo, false));
+        List<Entrada> resultado = new ArrayList<>(limite);
+        while (!fila.isEmpty() && resultado.size() < limite) {
+            Candidato atual = fila.poll();
+            if (atual.chaveCompleta) {
+                resultado.add(new Entrada(atual.chave, atual.no.exibicao, atual.no.peso));
+                continue;
+            }
+            if (atual.no.peso > 0) {
+                fila.add(new Candidato(atual.no, atual.chave, atual.no.peso, true));
+            }
+            for (No filho : atual.no.filhos) {
+                fila.add(new Candidato(filho, atual.chave + filho.rotulo, filho.pesoMaximo, false));
+            }
+        }
+        return resultado;
+    }
+
+    public int getQuantidadeNos() {
+        return quantidadeNos;
+    }
+
+    public int getQuantidadeChaves() {
+        return quantidadeChaves;
+    }
+
+    private record Candidato(No no, String chave, int prioridade, boolean chaveCompleta)
+            implements Comparable<Candidato> {
+
+        @Override
+        public int compareTo(Candidato outro) {
+            int porPeso = Integer.compare(outro.prioridade, prioridade);
+            if (porPeso != 0) {
+                return porPeso;
+            }
+            // Empate: chaves completas antes de nós a expandir, depois ordem alfabética
+            if (chaveCompleta != outro.chaveCompleta) {
+                return chaveCompleta ? -1 : 1;
+            }
+            return chave.compareTo(outro.chave);
+        }
+    }
+
+    // Remove nós que ficaram sem chave e sem filhos e funde nós intermediários com um único filho
+    private void compactar(List<No> ancestrais, No no) {
+        No pai = ancestrais.get(ancestrais.size() - 1);
+        if (no.filhos.length == 0) {
+            removerFilho(pai, no);
+            quantidadeNos--;
+            ancestrais.remove(ancestrais.size() - 1);
+            // O pai pode ter ficado como intermediário de um único filho
+            if (pai != raiz && pai.peso == 0 && pai.filhos.length == 1) {
+                fundirComFilho(pai);
+            } else if (pai != raiz && pai.peso == 0 && pai.filhos.length == 0) {
+                compactar(ancestrais, pai);
+                return;
+            }
+            ancestrais.add(pai);
+        } else if (no.filhos.length == 1) {
+            fundirComFilho(no);
+        }
+    }
+
+    private void fundirComFilho(No no) {
+        No filho = no.filhos[0];
+        no.rotulo = no.rotulo + filho.rotulo;
+        no.filhos = filho.filhos;
+        no.peso = filho.peso;
+        no.exibicao = filho.exibicao;
+        no.pesoMaximo = filho.pesoMaximo;
+        quantidadeNos--;
+    }
+
+    // Atualiza pesoMaximo do nó mais profundo até a raiz
+    private static void recalcularPesos(List<No> caminho) {
+        for (int i = caminho.size() - 1; i >= 0; i--) {
+            No no = caminho.get(i);
+            int maximo = no.peso;
+            for (No filho : no.filhos) {
+                maximo = Math.max(maximo, filho.pesoMaximo);
+            }
+            no.pesoMaximo = maximo;
+        }
+    }
+
+    // Busca binária pelo primeiro caractere do rótulo; se ausente, retorna -(ponto de inserção) - 1
+    private static int buscarFilho(No no, char c) {
+        int baixo = 0;
+        int alto = no.filhos.length - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            char atual = no.filhos[meio].rotulo.charAt(0);
+            if (atual < c) {
+                baixo = meio + 1;
+            } else if (atual > c) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(baixo + 1);
+    }
+
+    private static void inserirFilho(No no, int posicao, No filho) {
+        No[] novos = Arrays.copyOf(no.filhos, no.filhos.length + 1);
+        System.arraycopy(novos, posicao, novos, posicao + 1, no.filhos.length - posicao);
+        novos[posicao] = filho;
+        no.filhos = novos;
+    }
+
+    private static void removerFilho(No no, No filho) {
+        int posicao = buscarFilho(no, filho.rotulo.charAt(0));
+        No[] novos = new No[no.filhos.length - 1];
+        System.arraycopy(no.filhos, 0, novos, 0, posicao);
+        System.arraycopy(no.filhos, posicao + 1, novos, posicao, no.filhos.length - posicao - 1);
+        no.filhos = novos.length == 0 ? SEM_FILHOS : novos;
+    }
+
+    private static int prefixoComum(String rotulo, String chave, int inicio) {
+        int limite = Math.min(rotulo.length(), chave.length() - inicio);
+        int i = 0;
+        while (i < limite && rotulo.charAt(i) == chave.charAt(inicio + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.biblioteca_api.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de alterações do catálogo inteiro, usado como ETag das páginas da listagem.
+ * Qualquer criação, atualização ou exclusão (LivroAlteradoEvento) incrementa o contador, então uma
+ * página pode mudar só quando a ETag muda. A ETag inclui também o instante em que a aplicação subiu:
+ * o contador recomeça do zero a cada reinício, e ETags de uma execução anterior nunca voltam a conferir.
+ */
+@Component
+public class VersaoCatalogo {
+
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    @EventListener
+    public void aoAlterarLivro(LivroAlteradoEvento evento) {
+        alteracoes.incrementAndGet();
+    }
+
+    // Deve ser lida antes da consulta da página: se uma alteração acontecer no meio, a resposta leva
+    // a ETag antiga e o próximo If-None-Match apenas recebe a página de novo, nunca um 304 indevido
+    public String etag() {
+        return "\"c" + epoca + "-" + alteracoes.get() + "\"";
+    }
+}
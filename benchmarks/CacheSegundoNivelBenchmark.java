@@ -0,0 +1,76 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras do LivroRepository com e sem o cache de segundo nível e de consultas do Hibernate
+ * (sem o LivroCache na frente). Com o H2 em memória o banco responde em microssegundos, então o
+ * ganho medido aqui é o piso do que se obtém com um banco acessado pela rede.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CacheSegundoNivelBenchmark {
+
+    // Livros consultados repetidamente; cabem na região "livros" (application.conf)
+    private static final int LIVROS_POPULARES = 1000;
+
+    @Param({"false", "true"})
+    public boolean cacheSegundoNivel;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroRepository livroRepository;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cacheSegundoNivel,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cacheSegundoNivel);
+        livroRepository = contexto.getBean(LivroRepository.class);
+        ids = ContextoBenchmark.popular(contexto, 10_000, 42L);
+        for (int i = 0; i < LIVROS_POPULARES; i++) {
+            livroRepository.findById(ids[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Livro> findByIdPopular() {
+        return livroRepository.findById(ids[ThreadLocalRandom.current().nextInt(LIVROS_POPULARES)]);
+    }
+
+    // Primeira página da listagem sem filtros (GET /api/livros), a mais pedida
+    @Benchmark
+    public List<Livro> primeiraPagina() {
+        return livroRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51));
+    }
+}
@@ -0,0 +1,23 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Guarda o último SQL preparado pelo Hibernate, para que os benchmarks possam pedir ao banco
+ * o plano de execução (EXPLAIN) exatamente da consulta que a aplicação gera.
+ * Registrado pela propriedade hibernate.session_factory.statement_inspector.
+ */
+public class CapturaSql implements StatementInspector {
+
+    private static volatile String ultimo;
+
+    @Override
+    public String inspect(String sql) {
+        ultimo = sql;
+        return sql;
+    }
+
+    static String ultimo() {
+        return ultimo;
+    }
+}
@@ -0,0 +1,71 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador determinístico de livros sintéticos para os benchmarks.
+ * Títulos e autores são combinações de listas fixas de palavras (com acentos, como no catálogo real);
+ * os ISBN-13 são válidos e únicos dentro da JVM.
+ */
+public final class CatalogoSintetico {
+
+    private static final String[] PALAVRAS = {
+            "Memórias", "Póstumas", "Sertão", "Veredas", "Cidade", "Noite", "Mar", "Ensaio", "Cegueira",
+            "Tempo", "Vento", "Capitães", "Areia", "Dom", "Casmurro", "Hora", "Estrela", "Vidas", "Secas",
+            "Grande", "Sol", "Amor", "Guerra", "Paz", "Viagem", "Rio", "Montanha", "Jardim", "Silêncio", "Ilha"
+    };
+    private static final String[] NOMES = {
+            "Machado", "Clarice", "Jorge", "Cecília", "Graciliano", "Rachel", "Carlos", "Lygia", "Érico", "Conceição"
+    };
+    private static final String[] SOBRENOMES = {
+            "de Assis", "Lispector", "Amado", "Meireles", "Ramos", "de Queiroz", "Drummond", "Fagundes Telles",
+            "Veríssimo", "Evaristo", "Guimarães", "Andrade", "Bandeira", "Quintana", "Saramago"
+    };
+
+    // Compartilhado entre instâncias para que ISBNs nunca se repitam no mesmo banco
+    private static final AtomicLong SEQUENCIA_ISBN = new AtomicLong();
+
+    private final Random random;
+
+    public CatalogoSintetico(long semente) {
+        this.random = new Random(semente);
+    }
+
+    public Livro proximo() {
+        String titulo = palavra() + " " + palavra() + (random.nextBoolean() ? " " + palavra() : "");
+        String autor = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+        int ano = 1850 + random.nextInt(175);
+        Livro livro = new Livro(titulo, autor, isbn13(SEQUENCIA_ISBN.incrementAndGet()), ano);
+        livro.setDisponivel(random.nextInt(4) != 0);
+        return livro;
+    }
+
+    public List<Livro> gerar(int quantidade) {
+        List<Livro> livros = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            livros.add(proximo());
+        }
+        return livros;
+    }
+
+    private String palavra() {
+        return PALAVRAS[random.nextInt(PALAVRAS.length)];
+    }
+
+    // Prefixo 978 + número sequencial de 9 dígitos + dígito verificador do ISBN-13
+    static String isbn13(long numero) {
+        String semDigito = "978" + String.format("%09d", numero % 1_000_000_000L);
+        int soma = 0;
+        for (int i = 0; i < 12; i++) {
+            int digito = semDigito.charAt(i) - '0';
+            soma += (i % 2 == 0) ? digito : digito * 3;
+        }
+        int verificador = (10 - soma % 10) % 10;
+        return semDigito + verificador;
+    }
+}
@@ -0,0 +1,64 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.BibliotecaApiApplication;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import com.biblioteca.biblioteca_api.service.LivroAlteradoEvento;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sobe o contexto Spring da aplicação (sem servidor web) sobre um banco H2 em memória exclusivo
+ * e popula o catálogo com livros sintéticos.
+ */
+final class ContextoBenchmark {
+
+    private static final int TAMANHO_BLOCO = 1000;
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String... argumentosExtras) {
+        // Argumentos de linha de comando têm precedência sobre o application.properties
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        argumentos.addAll(List.of(argumentosExtras));
+        return new SpringApplicationBuilder(BibliotecaApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    // Grava os livros em blocos transacionais e devolve os ids gerados. Publica o mesmo evento do
+    // LivroController, para que os índices em memória (inclusive o filtro de Bloom) conheçam os livros
+    static long[] popular(ConfigurableApplicationContext contexto, int quantidade, long semente) {
+        LivroRepository livroRepository = contexto.getBean(LivroRepository.class);
+        EntityManager entityManager = contexto.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        CatalogoSintetico catalogo = new CatalogoSintetico(semente);
+
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += TAMANHO_BLOCO) {
+            List<Livro> bloco = catalogo.gerar(Math.min(TAMANHO_BLOCO, quantidade - inicio));
+            transactionTemplate.executeWithoutResult(status -> {
+                livroRepository.saveAll(bloco);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (Livro livro : bloco) {
+                contexto.publishEvent(LivroAlteradoEvento.criado(livro));
+                ids.add(livro.getId());
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
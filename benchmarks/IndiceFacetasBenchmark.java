@@ -0,0 +1,65 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.dto.ResultadoFacetas;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.service.IndiceFacetas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contagens de facetas nos bitmaps do IndiceFacetas, sem Spring e sem banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IndiceFacetasBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamanhoCatalogo;
+
+    private IndiceFacetas indice;
+    private String autor;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        indice = new IndiceFacetas();
+        CatalogoSintetico catalogo = new CatalogoSintetico(42L);
+        for (int i = 1; i <= tamanhoCatalogo; i++) {
+            Livro livro = catalogo.proximo();
+            livro.setId((long) i);
+            indice.indexar(livro);
+        }
+        indice.carregamentoConcluido();
+        autor = "Machado de Assis";
+    }
+
+    @Benchmark
+    public ResultadoFacetas semFiltros() {
+        return indice.contar(null, null, null, 20);
+    }
+
+    @Benchmark
+    public ResultadoFacetas porAutor() {
+        return indice.contar(autor, null, null, 20);
+    }
+
+    @Benchmark
+    public ResultadoFacetas porAutorDecadaEDisponibilidade() {
+        return indice.contar(autor, 1950, true, 20);
+    }
+}
@@ -0,0 +1,100 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.controller.LivroController;
+import com.biblioteca.biblioteca_api.dto.PaginaLivros;
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.service.LivroValidador;
+import com.biblioteca.biblioteca_api.service.VersaoCatalogo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos quentes do LivroController chamados diretamente (sem HTTP) e as validações de Livro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LivroControllerBenchmark {
+
+    // Conjunto de livros "populares" consultados repetidamente, para exercitar o cache
+    private static final int LIVROS_POPULARES = 100;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroController livroController;
+    private LivroValidador livroValidador;
+    private long[] ids;
+    private Livro livroValido;
+    private String etagCatalogo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        livroController = contexto.getBean(LivroController.class);
+        livroValidador = contexto.getBean(LivroValidador.class);
+        ids = ContextoBenchmark.popular(contexto, 10_000, 42L);
+        livroValido = new CatalogoSintetico(1L).proximo();
+        etagCatalogo = contexto.getBean(VersaoCatalogo.class).etag();
+        // Quem revalida já leu o livro antes (200 com ETag), então os populares estão no cache
+        for (int i = 0; i < LIVROS_POPULARES; i++) {
+            livroController.buscarPorId(ids[i], null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> buscarPorIdPopular() {
+        return livroController.buscarPorId(ids[ThreadLocalRandom.current().nextInt(LIVROS_POPULARES)], null);
+    }
+
+    // Cliente que já tem a versão atual (If-None-Match): 304 sem serializar o livro
+    @Benchmark
+    public ResponseEntity<byte[]> revalidarPorIdPopular() {
+        return livroController.buscarPorId(ids[ThreadLocalRandom.current().nextInt(LIVROS_POPULARES)], "\"0\"");
+    }
+
+    @Benchmark
+    public ResponseEntity<PaginaLivros> listarPrimeiraPagina() {
+        return livroController.listarTodos(null, 50, null, null, null, null, "id", "asc", null);
+    }
+
+    // Página já conhecida pelo cliente: 304 sem consultar o banco
+    @Benchmark
+    public ResponseEntity<PaginaLivros> revalidarPrimeiraPagina() {
+        return livroController.listarTodos(null, 50, null, null, null, null, "id", "asc", etagCatalogo);
+    }
+
+    @Benchmark
+    public void validarAnoPublicacao() {
+        livroValidador.validarAnoPublicacao(1999);
+    }
+
+    @Benchmark
+    public void validarLivroCompleto(Blackhole blackhole) {
+        List<String> erros = livroValidador.validar(livroValido);
+        blackhole.consume(erros);
+    }
+}
@@ -0,0 +1,73 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de livros: um por vez (como no POST /api/livros) e em lotes dentro de uma transação
+ * (como na importação em lote). O score é o tempo por chamada; o custo por livro é score / tamanhoLote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LivroEscritaBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int tamanhoLote;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroRepository livroRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private CatalogoSintetico catalogo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        livroRepository = contexto.getBean(LivroRepository.class);
+        entityManager = contexto.getBean(EntityManager.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        catalogo = new CatalogoSintetico(7L);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object salvar() {
+        if (tamanhoLote == 1) {
+            return livroRepository.save(catalogo.proximo());
+        }
+        List<Livro> lote = catalogo.gerar(tamanhoLote);
+        transactionTemplate.executeWithoutResult(status -> {
+            livroRepository.saveAll(lote);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return lote;
+    }
+}
@@ -0,0 +1,105 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.CampoOrdenacao;
+import com.biblioteca.biblioteca_api.repository.LivroEspecificacoes;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primeira página da listagem filtrada (GET /api/livros) para cada combinação de filtros.
+ * Antes de medir, pede ao H2 o plano (EXPLAIN) do SQL que o Hibernate gerou para a combinação
+ * e aborta a execução se ele não usar um dos índices idx_livro_* declarados em Livro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LivroFiltrosBenchmark {
+
+    // Um dos autores gerados pelo CatalogoSintetico
+    private static final String AUTOR = "Machado de Assis";
+    private static final int TAMANHO_PAGINA = 50;
+
+    @Param({"autor", "autor+disponivel", "autor+ano", "autor+disponivel+ano", "disponivel", "disponivel+ano", "ano"})
+    public String filtros;
+
+    @Param({"id", "anoPublicacao"})
+    public String ordenar;
+
+    @Param({"100000"})
+    public int tamanhoCatalogo;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroRepository livroRepository;
+    private Specification<Livro> especificacao;
+    private Sort ordenacao;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + CapturaSql.class.getName());
+        livroRepository = contexto.getBean(LivroRepository.class);
+        ContextoBenchmark.popular(contexto, tamanhoCatalogo, 42L);
+
+        List<String> partes = List.of(filtros.split("\\+"));
+        especificacao = LivroEspecificacoes.filtrar(
+                partes.contains("autor") ? AUTOR : null,
+                partes.contains("ano") ? 1950 : null,
+                partes.contains("ano") ? 1970 : null,
+                partes.contains("disponivel") ? Boolean.TRUE : null);
+        ordenacao = LivroEspecificacoes.ordenacao(CampoOrdenacao.doAtributo(ordenar), Sort.Direction.ASC);
+
+        verificarUsoDeIndice();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Livro> primeiraPagina() {
+        return livroRepository.buscarPagina(especificacao, ordenacao, TAMANHO_PAGINA + 1);
+    }
+
+    private void verificarUsoDeIndice() {
+        List<Livro> livros = primeiraPagina();
+        String sql = CapturaSql.ultimo();
+        // O H2 monta o plano sem precisar dos valores dos parâmetros
+        String plano = contexto.getBean(JdbcTemplate.class).execute("explain " + sql,
+                (PreparedStatement comando) -> {
+                    try (ResultSet resultado = comando.executeQuery()) {
+                        resultado.next();
+                        return resultado.getString(1);
+                    }
+                });
+        System.out.printf("%n[%s, ordenar=%s] %d livros na primeira página%n%s%n", filtros, ordenar, livros.size(), plano);
+        if (plano == null || !plano.toUpperCase().contains("IDX_LIVRO_")) {
+            throw new IllegalStateException("A combinação de filtros '" + filtros + "' não usa um índice:\n" + plano);
+        }
+    }
+}
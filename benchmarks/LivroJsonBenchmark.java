@@ -0,0 +1,63 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e desserialização de listas de Livro com Jackson, como nas respostas de listagem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LivroJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int quantidade;
+
+    private JsonMapper jsonMapper;
+    private JavaType tipoLista;
+    private List<Livro> livros;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        jsonMapper = JsonMapper.builder().build();
+        tipoLista = jsonMapper.getTypeFactory().constructCollectionType(List.class, Livro.class);
+        livros = new CatalogoSintetico(42L).gerar(quantidade);
+        long id = 1;
+        for (Livro livro : livros) {
+            livro.setId(id++);
+            livro.setVersao(0L);
+        }
+        json = jsonMapper.writeValueAsBytes(livros);
+    }
+
+    @Benchmark
+    public byte[] serializar() {
+        return jsonMapper.writeValueAsBytes(livros);
+    }
+
+    @Benchmark
+    public List<Livro> desserializar() {
+        return jsonMapper.readValue(json, tipoLista);
+    }
+}
@@ -0,0 +1,62 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.service.LivroJsonCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corpo da resposta de GET /api/livros/{id}: serializar o Livro com Jackson a cada requisição
+ * x devolver os bytes guardados no LivroJsonCache. Rode com -prof gc para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LivroJsonCacheBenchmark {
+
+    private static final int LIVROS_POPULARES = 1000;
+
+    private JsonMapper jsonMapper;
+    private LivroJsonCache livroJsonCache;
+    private List<Livro> livros;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        jsonMapper = JsonMapper.builder().build();
+        livroJsonCache = new LivroJsonCache(jsonMapper, 32L * 1024 * 1024);
+        livros = new CatalogoSintetico(42L).gerar(LIVROS_POPULARES);
+        long id = 1;
+        for (Livro livro : livros) {
+            livro.setId(id++);
+            livro.setVersao(0L);
+            livroJsonCache.serializar(livro);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarComJackson() {
+        return jsonMapper.writeValueAsBytes(livros.get(ThreadLocalRandom.current().nextInt(LIVROS_POPULARES)));
+    }
+
+    @Benchmark
+    public byte[] servirDoCache() {
+        return livroJsonCache.serializar(livros.get(ThreadLocalRandom.current().nextInt(LIVROS_POPULARES)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.model.Livro;
+import com.biblioteca.biblioteca_api.repository.LivroRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras do LivroRepository em catálogos de tamanhos diferentes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LivroRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int tamanhoCatalogo;
+
+    private ConfigurableApplicationContext contexto;
+    private LivroRepository livroRepository;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        livroRepository = contexto.getBean(LivroRepository.class);
+        ids = ContextoBenchmark.popular(contexto, tamanhoCatalogo, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Livro> findById() {
+        return livroRepository.findById(idAleatorio());
+    }
+
+    @Benchmark
+    public List<Livro> findAll() {
+        return livroRepository.findAll();
+    }
+
+    // Uma página da listagem por cursor (GET /api/livros), a partir de um ponto aleatório do catálogo
+    @Benchmark
+    public List<Livro> paginaPorCursor() {
+        return livroRepository.findByIdGreaterThanOrderByIdAsc(idAleatorio(), Limit.of(51));
+    }
+
+    private long idAleatorio() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,260 @@
+package com.biblioteca.biblioteca_api.benchmark;
+
+import com.biblioteca.biblioteca_api.BibliotecaApiApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga HTTP que compara o Tomcat com o pool de threads de plataforma e com virtual threads.
+ * Para cada modo sobe a aplicação completa (Tomcat em porta aleatória, H2 exclusivo), popula o catálogo,
+ * aquece e então mantém N clientes concorrentes fazendo requisições por um tempo fixo.
+ * Imprime vazão, p50/p99/máximo da latência, o pico de threads de plataforma usadas pelo servidor
+ * (workers do Tomcat, carrier threads das virtual threads e threads boundedElastic do Reactor) e o pico
+ * de conexões JDBC em uso no pool do Hikari.
+ *
+ * O modo virtual exige Java 21+. Argumentos (todos opcionais), no formato chave=valor:
+ * modos=plataforma,virtual  concorrencia=400  duracao=20  aquecimento=5  catalogo=20000
+ * threadsTomcat=200  conexoes=10  caminhos=/api/livros?autor=Machado%20de%20Assis&ordenar=titulo&tamanho=20
+ * (vários caminhos separados por ';' são medidos em sequência, cada um numa aplicação nova, para que o
+ * pico de threads de um caminho não herde os workers criados pelo anterior).
+ * Argumentos iniciados por "--" são repassados à aplicação como propriedades do Spring,
+ * ex.: --management.observations.enable.http.server.requests=false
+ */
+public final class TesteCarga {
+
+    private static final Pattern TRABALHADOR_FORK_JOIN = Pattern.compile("ForkJoinPool-\\d+-worker-\\d+");
+    private static final Pattern TRABALHADOR_REACTOR = Pattern.compile("boundedElastic-\\d+");
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>(Map.of(
+                "modos", "plataforma,virtual",
+                "concorrencia", "400",
+                "duracao", "20",
+                "aquecimento", "5",
+                "catalogo", "20000",
+                "threadsTomcat", "200",
+                "conexoes", "10",
+                "caminhos", "/api/livros?autor=Machado%20de%20Assis&ordenar=titulo&tamanho=20"));
+        List<String> propriedades = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                propriedades.add(arg);
+                continue;
+            }
+            String[] par = arg.split("=", 2);
+            opcoes.put(par[0], par.length > 1 ? par[1] : "");
+        }
+
+        List<String> linhas = new ArrayList<>();
+        for (String modo : opcoes.get("modos").split(",")) {
+            for (String caminho : opcoes.get("caminhos").split(";")) {
+                linhas.add(executar(modo.trim(), caminho.trim(), opcoes, propriedades));
+            }
+        }
+        System.out.printf("%n%-11s %-45s %11s %10s %10s %10s %10s %13s %9s%n", "modo", "caminho",
+                "requisições", "req/s", "p50 (ms)", "p99 (ms)", "máx (ms)", "threads serv.", "conexões");
+        linhas.forEach(System.out::println);
+    }
+
+    private static String executar(String modo, String caminho, Map<String, String> opcoes,
+                                   List<String> propriedades) throws Exception {
+        boolean virtual = switch (modo) {
+            case "plataforma" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + modo);
+        };
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("O modo virtual exige Java 21+ (atual: " + Runtime.version() + ")");
+        }
+
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + opcoes.get("threadsTomcat"),
+                "--spring.datasource.hikari.maximum-pool-size=" + opcoes.get("conexoes"),
+                "--spring.datasource.url=jdbc:h2:mem:carga-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        argumentos.addAll(propriedades);
+        ConfigurableApplicationContext contexto = SpringApplication.run(BibliotecaApiApplication.class,
+                argumentos.toArray(String[]::new));
+        try {
+            ContextoBenchmark.popular(contexto, Integer.parseInt(opcoes.get("catalogo")), 42L);
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            return medir(modo, caminho, porta, contexto.getBean(HikariDataSource.class), opcoes);
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private static String medir(String modo, String caminho, int porta, HikariDataSource dataSource,
+                                Map<String, String> opcoes) throws Exception {
+        URI uri = URI.create("http://localhost:" + porta + caminho);
+        int concorrencia = Integer.parseInt(opcoes.get("concorrencia"));
+
+        gerarCarga(uri, concorrencia, Duration.ofSeconds(Long.parseLong(opcoes.get("aquecimento"))));
+        AtomicBoolean medindo = new AtomicBoolean(true);
+        AtomicInteger picoThreads = new AtomicInteger();
+        AtomicInteger picoConexoes = new AtomicInteger();
+        Thread amostrador = new Thread(() -> {
+            while (medindo.get()) {
+                picoThreads.accumulateAndGet(threadsDoServidor(), Math::max);
+                picoConexoes.accumulateAndGet(dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        amostrador.start();
+        Duration duracao = Duration.ofSeconds(Long.parseLong(opcoes.get("duracao")));
+        long[] latencias = gerarCarga(uri, concorrencia, duracao);
+        medindo.set(false);
+        amostrador.join();
+        // Fixações de virtual threads contadas pelo DiagnosticoVirtualThreads durante a rodada
+        System.out.printf("%n[%s %s] /api/metricas/threads: %s%n", modo, caminho, HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/metricas/threads")).build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+
+        Arrays.sort(latencias);
+        return String.format("%-11s %-45s %11d %10.0f %10.2f %10.2f %10.2f %13d %9d", modo, caminho,
+                latencias.length, latencias.length / (double) duracao.toSeconds(),
+                percentil(latencias, 0.50), percentil(latencias, 0.99), percentil(latencias, 1.0),
+                picoThreads.get(), picoConexoes.get());
+    }
+
+    // Cada usuário virtual repete a requisição até o fim do tempo; devolve a latência (ns) de todas as respostas.
+    // Os usuários são assíncronos (sendAsync) sobre poucas threads, para que o gerador de carga não dispute
+    // a CPU com o servidor usando centenas de threads e só o servidor mude entre as rodadas.
+    private static long[] gerarCarga(URI uri, int concorrencia, Duration duracao) throws Exception {
+        ExecutorService executorHttp = Executors.newFixedThreadPool(4);
+        try {
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executorHttp)
+                    .build();
+            HttpRequest requisicao = HttpRequest.newBuilder(uri).GET().build();
+            AtomicBoolean parar = new AtomicBoolean();
+            AtomicReference<String> falha = new AtomicReference<>();
+            CountDownLatch encerrados = new CountDownLatch(concorrencia);
+            List<UsuarioVirtual> usuarios = new ArrayList<>();
+            for (int i = 0; i < concorrencia; i++) {
+                UsuarioVirtual usuario = new UsuarioVirtual(cliente, requisicao, executorHttp, parar, falha, encerrados);
+                usuarios.add(usuario);
+                usuario.proxima();
+            }
+            Thread.sleep(duracao.toMillis());
+            parar.set(true);
+            encerrados.await();
+            if (falha.get() != null) {
+                throw new IllegalStateException(falha.get());
+            }
+
+            long[] todas = new long[usuarios.stream().mapToInt(usuario -> usuario.quantidade).sum()];
+            int posicao = 0;
+            for (UsuarioVirtual usuario : usuarios) {
+                System.arraycopy(usuario.medidas, 0, todas, posicao, usuario.quantidade);
+                posicao += usuario.quantidade;
+            }
+            return todas;
+        } finally {
+            executorHttp.shutdownNow();
+        }
+    }
+
+    // Uma requisição por vez: a próxima só é enviada quando a anterior termina
+    private static final class UsuarioVirtual {
+
+        private final HttpClient cliente;
+        private final HttpRequest requisicao;
+        private final ExecutorService executor;
+        private final AtomicBoolean parar;
+        private final AtomicReference<String> falha;
+        private final CountDownLatch encerrados;
+        private long[] medidas = new long[1024];
+        private int quantidade;
+
+        UsuarioVirtual(HttpClient cliente, HttpRequest requisicao, ExecutorService executor, AtomicBoolean parar,
+                       AtomicReference<String> falha, CountDownLatch encerrados) {
+            this.cliente = cliente;
+            this.requisicao = requisicao;
+            this.executor = executor;
+            this.parar = parar;
+            this.falha = falha;
+            this.encerrados = encerrados;
+        }
+
+        void proxima() {
+            if (parar.get()) {
+                encerrados.countDown();
+                return;
+            }
+            long inicio = System.nanoTime();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenCompleteAsync((resposta, erro) -> {
+                        if (erro != null || resposta.statusCode() != 200) {
+                            falha.compareAndSet(null, erro != null ? erro.toString()
+                                    : "Resposta " + resposta.statusCode() + " para " + requisicao.uri());
+                            parar.set(true);
+                            encerrados.countDown();
+                            return;
+                        }
+                        if (quantidade == medidas.length) {
+                            medidas = Arrays.copyOf(medidas, quantidade * 2);
+                        }
+                        medidas[quantidade++] = System.nanoTime() - inicio;
+                        proxima();
+                    }, executor);
+        }
+    }
+
+    // Workers do Tomcat (http-nio-<porta>-exec-N), carrier threads das virtual threads (ForkJoinPool-N-worker-N)
+    // e threads do Reactor que executam o JDBC dos endpoints reativos (boundedElastic-N).
+    // Thread.getAllStackTraces só enumera threads de plataforma
+    private static int threadsDoServidor() {
+        int quantidade = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String nome = thread.getName();
+            if ((nome.startsWith("http-nio-") && nome.contains("-exec-")) || TRABALHADOR_FORK_JOIN.matcher(nome).matches()
+                    || TRABALHADOR_REACTOR.matcher(nome).matches()) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+    // Em milissegundos, sobre latências já ordenadas
+    private static double percentil(long[] ordenadas, double fracao) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(fracao * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))] / 1_000_000.0;
+    }
+}